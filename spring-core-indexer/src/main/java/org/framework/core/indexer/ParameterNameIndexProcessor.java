@@ -0,0 +1,177 @@
+package org.framework.core.indexer;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 编译期生成参数名索引的注解处理器
+ *
+ * <p>收集本次编译的所有类（包括成员类）中方法及构造函数的参数名，
+ * 以{@link ParameterNameIndexWriter 紧凑的二进制格式}写入 {@value ParameterNameIndexWriter#INDEX_LOCATION}，
+ * 运行期由 {@code org.framework.core.IndexedParameterNameDiscoverer} 读取，
+ * 不再需要反射或者解析class文件
+ *
+ * <p>编译时加入处理器路径即可启用
+ *
+ * @author dengweichang
+ */
+@SupportedAnnotationTypes("*")
+public class ParameterNameIndexProcessor extends AbstractProcessor {
+
+	/**
+	 * 类的二进制名称 -> 方法及构造函数
+	 */
+	private final Map<String, List<ParameterNameIndexWriter.IndexedExecutable>> index = new TreeMap<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getRootElements()) {
+			if (element instanceof TypeElement) {
+				collect((TypeElement) element);
+			}
+		}
+		if (roundEnv.processingOver()) {
+			writeIndex();
+		}
+		return false;
+	}
+
+	private void collect(TypeElement type) {
+		Elements elements = this.processingEnv.getElementUtils();
+		String className = elements.getBinaryName(type).toString();
+		List<ParameterNameIndexWriter.IndexedExecutable> executables = new ArrayList<>();
+		for (Element enclosed : type.getEnclosedElements()) {
+			if (enclosed.getKind() == ElementKind.METHOD) {
+				executables.add(describe((ExecutableElement) enclosed, enclosed.getSimpleName().toString(), null));
+			}
+			else if (enclosed.getKind() == ElementKind.CONSTRUCTOR && type.getKind() != ElementKind.ENUM) {
+				// 枚举构造函数带有编译器生成的参数，且不能被外部调用
+				TypeMirror outerInstance = (isInnerClass(type) ? type.getEnclosingElement().asType() : null);
+				executables.add(describe((ExecutableElement) enclosed, "<init>", outerInstance));
+			}
+			else if (enclosed instanceof TypeElement) {
+				collect((TypeElement) enclosed);
+			}
+		}
+		if (!executables.isEmpty()) {
+			this.index.put(className, executables);
+		}
+	}
+
+	/**
+	 * 非静态的成员类，构造函数的第一个参数是编译器生成的外部类实例
+	 */
+	private static boolean isInnerClass(TypeElement type) {
+		return (type.getNestingKind() == NestingKind.MEMBER && type.getKind() == ElementKind.CLASS &&
+				!type.getModifiers().contains(Modifier.STATIC));
+	}
+
+	private ParameterNameIndexWriter.IndexedExecutable describe(
+			ExecutableElement executable, String name, TypeMirror outerInstance) {
+
+		List<? extends VariableElement> parameters = executable.getParameters();
+		List<String> parameterNames = new ArrayList<>(parameters.size() + 1);
+		StringBuilder descriptor = new StringBuilder("(");
+		if (outerInstance != null) {
+			appendDescriptor(descriptor, outerInstance);
+			parameterNames.add("this$0");
+		}
+		for (VariableElement parameter : parameters) {
+			appendDescriptor(descriptor, parameter.asType());
+			parameterNames.add(parameter.getSimpleName().toString());
+		}
+		descriptor.append(')');
+		return new ParameterNameIndexWriter.IndexedExecutable(name, descriptor.toString(), parameterNames);
+	}
+
+	/**
+	 * 追加擦除后类型的JVM描述符
+	 */
+	private void appendDescriptor(StringBuilder sb, TypeMirror type) {
+		Types types = this.processingEnv.getTypeUtils();
+		TypeMirror erased = types.erasure(type);
+		switch (erased.getKind()) {
+			case BOOLEAN:
+				sb.append('Z');
+				break;
+			case BYTE:
+				sb.append('B');
+				break;
+			case CHAR:
+				sb.append('C');
+				break;
+			case SHORT:
+				sb.append('S');
+				break;
+			case INT:
+				sb.append('I');
+				break;
+			case LONG:
+				sb.append('J');
+				break;
+			case FLOAT:
+				sb.append('F');
+				break;
+			case DOUBLE:
+				sb.append('D');
+				break;
+			case ARRAY:
+				sb.append('[');
+				appendDescriptor(sb, ((ArrayType) erased).getComponentType());
+				break;
+			case DECLARED:
+				TypeElement element = (TypeElement) ((DeclaredType) erased).asElement();
+				String binaryName = this.processingEnv.getElementUtils().getBinaryName(element).toString();
+				sb.append('L').append(binaryName.replace('.', '/')).append(';');
+				break;
+			default:
+				sb.append('L').append(erased.toString().replace('.', '/')).append(';');
+		}
+	}
+
+	private void writeIndex() {
+		if (this.index.isEmpty()) {
+			return;
+		}
+		try {
+			FileObject file = this.processingEnv.getFiler().createResource(
+					StandardLocation.CLASS_OUTPUT, "", ParameterNameIndexWriter.INDEX_LOCATION);
+			try (OutputStream out = file.openOutputStream()) {
+				ParameterNameIndexWriter.write(this.index, out);
+			}
+		}
+		catch (IOException ex) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Unable to write parameter name index: " + ex);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package org.framework.core.indexer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 参数名索引的二进制格式
+ *
+ * <p>所有字符串（类名、方法名、描述符、参数名）去重后存放在字符串表中，其余位置只保存字符串表下标：
+ * <pre class="code">
+ * u4 magic              0x53504E58 ("SPNX")
+ * u1 version            1
+ * u4 string_count
+ *    { u2 length, u1[length] modified UTF-8 }[string_count]
+ * u4 class_count
+ *    { u4 class_name, u2 executable_count,
+ *      { u4 name ("&lt;init&gt;"表示构造函数), u4 parameter_descriptor ("(Ljava/lang/String;I)"),
+ *        u1 parameter_count, u4[parameter_count] parameter_names }[executable_count] }[class_count]
+ * </pre>
+ *
+ * @author dengweichang
+ */
+final class ParameterNameIndexWriter {
+
+	/**
+	 * 索引文件在classpath中的位置
+	 */
+	static final String INDEX_LOCATION = "META-INF/spring.parameter-names";
+
+	static final int MAGIC = 0x53504E58;
+
+	static final int VERSION = 1;
+
+	private ParameterNameIndexWriter() {
+	}
+
+	static void write(Map<String, List<IndexedExecutable>> index, OutputStream os) throws IOException {
+		List<String> strings = new ArrayList<>();
+		Map<String, Integer> stringIndexes = new HashMap<>();
+		for (Map.Entry<String, List<IndexedExecutable>> entry : index.entrySet()) {
+			intern(entry.getKey(), strings, stringIndexes);
+			for (IndexedExecutable executable : entry.getValue()) {
+				intern(executable.name, strings, stringIndexes);
+				intern(executable.descriptor, strings, stringIndexes);
+				for (String parameterName : executable.parameterNames) {
+					intern(parameterName, strings, stringIndexes);
+				}
+			}
+		}
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeInt(strings.size());
+		for (String string : strings) {
+			out.writeUTF(string);
+		}
+		out.writeInt(index.size());
+		for (Map.Entry<String, List<IndexedExecutable>> entry : index.entrySet()) {
+			out.writeInt(stringIndexes.get(entry.getKey()));
+			out.writeShort(entry.getValue().size());
+			for (IndexedExecutable executable : entry.getValue()) {
+				out.writeInt(stringIndexes.get(executable.name));
+				out.writeInt(stringIndexes.get(executable.descriptor));
+				out.writeByte(executable.parameterNames.size());
+				for (String parameterName : executable.parameterNames) {
+					out.writeInt(stringIndexes.get(parameterName));
+				}
+			}
+		}
+		out.flush();
+	}
+
+	private static void intern(String string, List<String> strings, Map<String, Integer> stringIndexes) {
+		if (!stringIndexes.containsKey(string)) {
+			stringIndexes.put(string, strings.size());
+			strings.add(string);
+		}
+	}
+
+
+	/**
+	 * 一个方法或构造函数的索引项
+	 */
+	static final class IndexedExecutable {
+
+		final String name;
+
+		final String descriptor;
+
+		final List<String> parameterNames;
+
+		IndexedExecutable(String name, String descriptor, List<String> parameterNames) {
+			this.name = name;
+			this.descriptor = descriptor;
+			this.parameterNames = parameterNames;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package org.framework.core;
+
+/**
+ * 默认的{@link ParameterNamedDiscoverer}
+ *
+ * <p>依次尝试：
+ * <ol>
+ *     <li>{@link StandardReflectionParameterNameDiscoverer}，使用 {@code -parameters} 编译的类不需要读取class文件</li>
+ *     <li>{@link RecordParameterNameDiscoverer}，record的标准构造函数</li>
+ *     <li>{@link IndexedParameterNameDiscoverer}，编译期生成的参数名索引</li>
+ *     <li>{@link LocalVariableTableParameterNameDiscoverer}，读取class文件中的debug信息</li>
+ * </ol>
+ *
+ * @author dengweichang
+ */
+public class DefaultParameterNameDiscoverer extends PrioritizedParameterNameDiscoverer {
+
+	public DefaultParameterNameDiscoverer() {
+		addDiscoverer(new StandardReflectionParameterNameDiscoverer());
+		addDiscoverer(new RecordParameterNameDiscoverer());
+		addDiscoverer(new IndexedParameterNameDiscoverer());
+		addDiscoverer(new LocalVariableTableParameterNameDiscoverer());
+	}
+}
@@ -0,0 +1,122 @@
+package org.framework.core;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.framework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * {@link ParameterNamedDiscoverer}
+ *
+ * <p>从编译期生成的参数名索引（{@code spring-core-indexer} 模块的注解处理器）中查找参数名，
+ * 不需要反射获取参数信息，也不需要解析class文件
+ *
+ * <p>classpath下所有的索引文件在第一次查找时加载
+ *
+ * @author dengweichang
+ */
+public class IndexedParameterNameDiscoverer implements ParameterNamedDiscoverer {
+
+	private static final Log logger = LogFactory.getLog(IndexedParameterNameDiscoverer.class);
+
+	@Nullable
+	private final ClassLoader classLoader;
+
+	@Nullable
+	private volatile List<ParameterNameIndex> indexes;
+
+	/**
+	 * 使用当前类的类加载器查找索引
+	 */
+	public IndexedParameterNameDiscoverer() {
+		this(IndexedParameterNameDiscoverer.class.getClassLoader());
+	}
+
+	/**
+	 * @param classLoader 查找索引文件的类加载器
+	 */
+	public IndexedParameterNameDiscoverer(@Nullable ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	@Override
+	@Nullable
+	public String[] getParameterNames(Method method) {
+		return doGetParameterNames(method, method.getName());
+	}
+
+	@Override
+	@Nullable
+	public String[] getParameterNames(Constructor<?> ctor) {
+		return doGetParameterNames(ctor, "<init>");
+	}
+
+	@Nullable
+	private String[] doGetParameterNames(Executable executable, String name) {
+		List<ParameterNameIndex> indexes = getIndexes();
+		if (indexes.isEmpty()) {
+			return null;
+		}
+		String className = executable.getDeclaringClass().getName();
+		String descriptor = LocalVariableTableReader.parameterDescriptor(executable.getParameterTypes());
+		for (ParameterNameIndex index : indexes) {
+			String[] names = index.getParameterNames(className, name, descriptor);
+			if (names != null) {
+				return names;
+			}
+		}
+		return null;
+	}
+
+	private List<ParameterNameIndex> getIndexes() {
+		List<ParameterNameIndex> indexes = this.indexes;
+		if (indexes == null) {
+			synchronized (this) {
+				indexes = this.indexes;
+				if (indexes == null) {
+					indexes = loadIndexes();
+					this.indexes = indexes;
+				}
+			}
+		}
+		return indexes;
+	}
+
+	private List<ParameterNameIndex> loadIndexes() {
+		List<ParameterNameIndex> indexes = new ArrayList<>();
+		try {
+			Enumeration<URL> urls = (this.classLoader != null ?
+					this.classLoader.getResources(ParameterNameIndex.INDEX_LOCATION) :
+					ClassLoader.getSystemResources(ParameterNameIndex.INDEX_LOCATION));
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				try {
+					indexes.add(ParameterNameIndex.load(url));
+					if (logger.isDebugEnabled()) {
+						logger.debug("loaded parameter name index from " + url);
+					}
+				}
+				catch (IOException | IllegalArgumentException ex) {
+					if (logger.isInfoEnabled()) {
+						logger.info("could not load parameter name index from " + url + ": " + ex);
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			if (logger.isInfoEnabled()) {
+				logger.info("could not find parameter name indexes: " + ex);
+			}
+		}
+		return (indexes.isEmpty() ? Collections.emptyList() : indexes);
+	}
+}
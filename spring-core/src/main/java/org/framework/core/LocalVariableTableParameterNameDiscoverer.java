@@ -2,38 +2,345 @@ package org.framework.core;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.framework.lang.Nullable;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link ParameterNamedDiscoverer}
  *
+ * <p>读取class文件中的 {@code LocalVariableTable}（编译时的debug信息）获取参数名，
+ * 由内置的{@link LocalVariableTableReader}解析，不依赖ASM
+ *
+ * <p>第一次访问某个类时一次性解析该类所有方法及构造函数的参数名并缓存；
+ * 没有debug信息或者无法读取class文件的类被标记为{@link #NO_DEBUG_INFO}，之后不再尝试
+ *
+ * <p>缓存基于{@link ClassValue}，结果挂在类自身上而不是被discoverer强引用，
+ * 不会阻止类及其类加载器被卸载（e.g. 热部署）；每个类的结果以按声明顺序排列的{@code String[][]}紧凑保存
+ *
+ * <p>可以通过{@link ParameterNamePrewarmer}在启动时并行地为整个包或jar预先填充缓存
+ *
+ * <p>配置了{@link #CACHE_FILE_PROPERTY_NAME}时，解析结果还会以class文件的位置、大小及修改时间为key追加到磁盘缓存文件，
+ * 重启后未变化的类直接从缓存文件（内存映射）读取，不再读取及解析class文件
+ *
  * @author dengweichang
  */
 public class LocalVariableTableParameterNameDiscoverer implements ParameterNamedDiscoverer {
 
+	/**
+	 * 参数名磁盘缓存文件的路径，未配置时不使用磁盘缓存
+	 */
+	public static final String CACHE_FILE_PROPERTY_NAME = "spring.parameter-names.cache-file";
+
 	private static final Log logger = LogFactory.getLog(LocalVariableTableParameterNameDiscoverer.class);
 
+	/**
+	 * 同一JVM中共用同一文件的磁盘缓存，避免重复打开及文件锁冲突
+	 */
+	private static final Map<Path, ParameterNameDiskCache> diskCaches = new LinkedHashMap<>();
+
 	/**
 	 * 被标记为没有debug信息的class对象
 	 */
-	private static final Map<Executable, String[]> NO_DEBUG_INFO_MAP = Collections.emptyMap();
+	private static final ClassParameterNames NO_DEBUG_INFO = new ClassParameterNames(new Executable[0], new String[0][]);
+
+	private final ClassValue<ParameterNamesHolder> parameterNamesCache = new ClassValue<ParameterNamesHolder>() {
+		@Override
+		protected ParameterNamesHolder computeValue(Class<?> type) {
+			return new ParameterNamesHolder();
+		}
+	};
 
-	private final Map<Class<?>, Map<Executable, String[]>> parameterNamesCache = new ConcurrentHashMap<>(32);
+	@Nullable
+	private final ParameterNameDiskCache diskCache;
+
+	/**
+	 * 使用{@link #CACHE_FILE_PROPERTY_NAME}配置的磁盘缓存
+	 */
+	public LocalVariableTableParameterNameDiscoverer() {
+		String cacheFile = SpringProperties.getProperty(CACHE_FILE_PROPERTY_NAME);
+		this.diskCache = (cacheFile != null && !cacheFile.isEmpty() ? openDiskCache(Paths.get(cacheFile)) : null);
+	}
+
+	/**
+	 * @param cacheFile 磁盘缓存文件，为null时不使用磁盘缓存
+	 */
+	public LocalVariableTableParameterNameDiscoverer(@Nullable Path cacheFile) {
+		this.diskCache = (cacheFile != null ? openDiskCache(cacheFile) : null);
+	}
 
 	@Override
+	@Nullable
 	public String[] getParameterNames(Method method) {
-//		B
-		return new String[0];
+		return doGetParameterNames(method);
 	}
 
 	@Override
+	@Nullable
 	public String[] getParameterNames(Constructor<?> ctor) {
-		return new String[0];
+		return doGetParameterNames(ctor);
+	}
+
+	@Nullable
+	private String[] doGetParameterNames(Executable executable) {
+		Class<?> declaringClass = executable.getDeclaringClass();
+		ParameterNamesHolder holder = this.parameterNamesCache.get(declaringClass);
+		ClassParameterNames names = holder.names;
+		if (names == null) {
+			synchronized (holder) {
+				names = holder.names;
+				if (names == null) {
+					names = inspectClass(declaringClass);
+					holder.names = names;
+				}
+			}
+		}
+		return (names != NO_DEBUG_INFO ? names.get(executable) : null);
+	}
+
+	/**
+	 * 解析class文件，得到所有方法及构造函数的参数名
+	 * @param clazz 需要解析的类
+	 * @return 该类的参数名，没有debug信息时返回{@link #NO_DEBUG_INFO}
+	 */
+	private ClassParameterNames inspectClass(Class<?> clazz) {
+		String cacheKey = getDiskCacheKey(clazz);
+		ClassParameterNames cached = getFromDiskCache(clazz, cacheKey);
+		if (cached != null) {
+			return cached;
+		}
+		InputStream is = clazz.getResourceAsStream(getClassFileName(clazz));
+		if (is == null) {
+			// 找不到class文件，例如动态生成的类
+			if (logger.isDebugEnabled()) {
+				logger.debug("Cannot find '.class' file for class [" + clazz +
+						"] - unable to determine constructor/method parameter names");
+			}
+			return NO_DEBUG_INFO;
+		}
+		try {
+			return parseClassFile(clazz, readClassFile(is), cacheKey);
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Exception thrown while reading '.class' file for class [" + clazz +
+						"] - unable to determine constructor/method parameter names", ex);
+			}
+			return NO_DEBUG_INFO;
+		}
+		finally {
+			try {
+				is.close();
+			}
+			catch (IOException ex) {
+				// ignore
+			}
+		}
+	}
+
+	/**
+	 * 磁盘缓存的key，不使用磁盘缓存或者无法生成时返回null
+	 */
+	@Nullable
+	private String getDiskCacheKey(Class<?> clazz) {
+		return (this.diskCache != null ? ParameterNameDiskCache.key(clazz.getResource(getClassFileName(clazz))) : null);
+	}
+
+	@Nullable
+	private ClassParameterNames getFromDiskCache(Class<?> clazz, @Nullable String cacheKey) {
+		if (cacheKey == null || this.diskCache == null) {
+			return null;
+		}
+		Map<String, String[]> cached = this.diskCache.get(cacheKey);
+		return (cached != null ? toClassParameterNames(getDeclaredExecutables(clazz), cached) : null);
+	}
+
+	/**
+	 * 解析class文件，有key时写入磁盘缓存
+	 */
+	private ClassParameterNames parseClassFile(Class<?> clazz, byte[] classFile, @Nullable String cacheKey) {
+		ClassParameterNames names = parseClassFile(clazz, getDeclaredExecutables(clazz), classFile);
+		if (cacheKey != null && this.diskCache != null) {
+			try {
+				this.diskCache.put(cacheKey, names.toMap());
+			}
+			catch (IOException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Could not write parameter names of class [" + clazz + "] to disk cache", ex);
+				}
+			}
+		}
+		return names;
+	}
+
+	private ClassParameterNames parseClassFile(Class<?> clazz, Executable[] executables, byte[] classFile) {
+		try {
+			String[][] parameterNames = LocalVariableTableReader.read(executables, classFile);
+			for (String[] names : parameterNames) {
+				if (names != null) {
+					return new ClassParameterNames(executables, parameterNames);
+				}
+			}
+			return NO_DEBUG_INFO;
+		}
+		catch (IllegalArgumentException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Unsupported '.class' file for class [" + clazz +
+						"] - unable to determine constructor/method parameter names", ex);
+			}
+			return NO_DEBUG_INFO;
+		}
+	}
+
+	private static ClassParameterNames toClassParameterNames(Executable[] executables, Map<String, String[]> cached) {
+		if (cached.isEmpty()) {
+			return NO_DEBUG_INFO;
+		}
+		String[][] parameterNames = new String[executables.length][];
+		for (int i = 0; i < executables.length; i++) {
+			String[] names = cached.get(LocalVariableTableReader.executableKey(executables[i]));
+			if (names != null && names.length == executables[i].getParameterCount()) {
+				parameterNames[i] = names;
+			}
+		}
+		return new ClassParameterNames(executables, parameterNames);
+	}
+
+	/**
+	 * 使用已读取的class文件填充缓存，已缓存的类不会再次解析
+	 * <p>供{@link ParameterNamePrewarmer}在后台线程调用
+	 * @param clazz class文件对应的类
+	 * @param classFile class文件内容
+	 */
+	void cacheParameterNames(Class<?> clazz, byte[] classFile) {
+		ParameterNamesHolder holder = this.parameterNamesCache.get(clazz);
+		if (holder.names == null) {
+			synchronized (holder) {
+				if (holder.names == null) {
+					String cacheKey = getDiskCacheKey(clazz);
+					ClassParameterNames names = getFromDiskCache(clazz, cacheKey);
+					holder.names = (names != null ? names : parseClassFile(clazz, classFile, cacheKey));
+				}
+			}
+		}
+	}
+
+	/**
+	 * 声明的构造函数及方法，按该顺序保存参数名
+	 */
+	private static Executable[] getDeclaredExecutables(Class<?> clazz) {
+		Constructor<?>[] ctors = clazz.getDeclaredConstructors();
+		Method[] methods = clazz.getDeclaredMethods();
+		Executable[] executables = new Executable[ctors.length + methods.length];
+		System.arraycopy(ctors, 0, executables, 0, ctors.length);
+		System.arraycopy(methods, 0, executables, ctors.length, methods.length);
+		return executables;
+	}
+
+	/**
+	 * 打开磁盘缓存，失败时不使用磁盘缓存
+	 */
+	@Nullable
+	private static ParameterNameDiskCache openDiskCache(Path cacheFile) {
+		Path path = cacheFile.toAbsolutePath().normalize();
+		synchronized (diskCaches) {
+			ParameterNameDiskCache diskCache = diskCaches.get(path);
+			if (diskCache == null) {
+				try {
+					diskCache = ParameterNameDiskCache.open(path);
+					diskCaches.put(path, diskCache);
+				}
+				catch (IOException | RuntimeException ex) {
+					if (logger.isInfoEnabled()) {
+						logger.info("Could not open parameter name cache file [" + path + "] - continuing without it: " + ex);
+					}
+				}
+			}
+			return diskCache;
+		}
+	}
+
+	private static String getClassFileName(Class<?> clazz) {
+		String className = clazz.getName();
+		int lastDotIndex = className.lastIndexOf('.');
+		return className.substring(lastDotIndex + 1) + ".class";
+	}
+
+	static byte[] readClassFile(InputStream is) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = is.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+
+	/**
+	 * 挂在类上的缓存项，第一次访问时才解析
+	 */
+	private static final class ParameterNamesHolder {
+
+		@Nullable
+		volatile ClassParameterNames names;
+	}
+
+
+	/**
+	 * 一个类所有方法及构造函数的参数名，两个数组按声明顺序一一对应
+	 */
+	private static final class ClassParameterNames {
+
+		private final Executable[] executables;
+
+		private final String[][] parameterNames;
+
+		ClassParameterNames(Executable[] executables, String[][] parameterNames) {
+			this.executables = executables;
+			this.parameterNames = parameterNames;
+		}
+
+		@Nullable
+		String[] get(Executable executable) {
+			Executable[] executables = this.executables;
+			String name = executable.getName();
+			int parameterCount = executable.getParameterCount();
+			for (int i = 0; i < executables.length; i++) {
+				Executable candidate = executables[i];
+				// 先比较方法名及参数个数，避免完整的equals
+				if (name.equals(candidate.getName()) && candidate.getParameterCount() == parameterCount &&
+						candidate.equals(executable)) {
+					return this.parameterNames[i];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * 转换为磁盘缓存的格式，没有debug信息时为空map
+		 */
+		Map<String, String[]> toMap() {
+			if (this == NO_DEBUG_INFO) {
+				return Collections.emptyMap();
+			}
+			Map<String, String[]> map = new LinkedHashMap<>(this.executables.length * 4 / 3 + 1);
+			for (int i = 0; i < this.executables.length; i++) {
+				if (this.parameterNames[i] != null) {
+					map.put(LocalVariableTableReader.executableKey(this.executables[i]), this.parameterNames[i]);
+				}
+			}
+			return map;
+		}
 	}
 }
@@ -0,0 +1,352 @@
+package org.framework.core;
+
+import org.framework.lang.Nullable;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 精简的class文件读取器，不依赖ASM
+ *
+ * <p>一次遍历class文件，读取其中所有方法及构造函数 {@code Code} 属性下的 {@code LocalVariableTable}，
+ * 得到参数名。常量池只记录偏移量，只有方法名、方法描述符及参数名用到的UTF-8常量才会被解码；
+ * 字段、字节码本身以及其余属性直接跳过
+ *
+ * @author dengweichang
+ * @see LocalVariableTableParameterNameDiscoverer
+ */
+final class LocalVariableTableReader {
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final byte[] CODE = "Code".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] LOCAL_VARIABLE_TABLE = "LocalVariableTable".getBytes(StandardCharsets.US_ASCII);
+
+	private final byte[] bytes;
+
+	/**
+	 * 常量池索引 -> 常量在class文件中的偏移量（指向tag之后）
+	 */
+	private final int[] constantOffsets;
+
+	/**
+	 * 已解码的UTF-8常量
+	 */
+	private final String[] utf8Cache;
+
+	/**
+	 * 常量池结束后的位置，即access_flags
+	 */
+	private final int header;
+
+	private LocalVariableTableReader(byte[] bytes) {
+		if (bytes.length < 10 || readInt(bytes, 0) != MAGIC) {
+			throw new IllegalArgumentException("Not a class file");
+		}
+		this.bytes = bytes;
+		int count = readUnsignedShort(bytes, 8);
+		this.constantOffsets = new int[count];
+		this.utf8Cache = new String[count];
+		int offset = 10;
+		for (int i = 1; i < count; i++) {
+			int tag = bytes[offset++];
+			this.constantOffsets[i] = offset;
+			switch (tag) {
+				case 1:
+					// Utf8
+					offset += 2 + readUnsignedShort(bytes, offset);
+					break;
+				case 3:
+				case 4:
+				case 9:
+				case 10:
+				case 11:
+				case 12:
+				case 17:
+				case 18:
+					// Integer, Float, Fieldref, Methodref, InterfaceMethodref, NameAndType, Dynamic, InvokeDynamic
+					offset += 4;
+					break;
+				case 5:
+				case 6:
+					// Long, Double 占用两个常量池索引
+					offset += 8;
+					i++;
+					break;
+				case 7:
+				case 8:
+				case 16:
+				case 19:
+				case 20:
+					// Class, String, MethodType, Module, Package
+					offset += 2;
+					break;
+				case 15:
+					// MethodHandle
+					offset += 3;
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+			}
+		}
+		this.header = offset;
+	}
+
+	/**
+	 * 读取class中所有方法及构造函数的参数名
+	 * @param executables class文件对应的类声明的方法及构造函数
+	 * @param classFile class文件内容
+	 * @return 与{@code executables}下标一一对应的参数名，没有 {@code LocalVariableTable} 的位置为null
+	 * @throws IllegalArgumentException class文件格式无法识别
+	 */
+	static String[][] read(Executable[] executables, byte[] classFile) {
+		try {
+			return new LocalVariableTableReader(classFile).readParameterNames(executables);
+		}
+		catch (ArrayIndexOutOfBoundsException ex) {
+			throw new IllegalArgumentException("Truncated class file", ex);
+		}
+	}
+
+	private String[][] readParameterNames(Executable[] declared) {
+		Map<String, Integer> executables = new HashMap<>(declared.length * 4 / 3 + 1);
+		for (int i = 0; i < declared.length; i++) {
+			executables.put(executableKey(declared[i]), i);
+		}
+
+		String[][] result = new String[declared.length][];
+		byte[] bytes = this.bytes;
+		// access_flags, this_class, super_class
+		int offset = this.header + 6;
+		int interfacesCount = readUnsignedShort(bytes, offset);
+		offset += 2 + interfacesCount * 2;
+		int fieldsCount = readUnsignedShort(bytes, offset);
+		offset += 2;
+		for (int i = 0; i < fieldsCount; i++) {
+			offset = skipMember(offset);
+		}
+		int methodsCount = readUnsignedShort(bytes, offset);
+		offset += 2;
+		for (int i = 0; i < methodsCount; i++) {
+			int nameIndex = readUnsignedShort(bytes, offset + 2);
+			int descriptorIndex = readUnsignedShort(bytes, offset + 4);
+			int attributesCount = readUnsignedShort(bytes, offset + 6);
+			offset += 8;
+			Integer index = executables.get(readUtf8(nameIndex) + readUtf8(descriptorIndex));
+			for (int j = 0; j < attributesCount; j++) {
+				int attributeName = readUnsignedShort(bytes, offset);
+				int attributeLength = readInt(bytes, offset + 2);
+				offset += 6;
+				if (index != null && utf8Equals(attributeName, CODE)) {
+					result[index] = readCodeAttribute(offset, declared[index]);
+				}
+				offset += attributeLength;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 读取 {@code Code} 属性中的 {@code LocalVariableTable}
+	 * @param offset {@code Code} 属性内容的起始位置（max_stack）
+	 */
+	@Nullable
+	private String[] readCodeAttribute(int offset, Executable executable) {
+		byte[] bytes = this.bytes;
+		int codeLength = readInt(bytes, offset + 4);
+		offset += 8 + codeLength;
+		int exceptionTableLength = readUnsignedShort(bytes, offset);
+		offset += 2 + exceptionTableLength * 8;
+		int attributesCount = readUnsignedShort(bytes, offset);
+		offset += 2;
+		for (int i = 0; i < attributesCount; i++) {
+			int attributeName = readUnsignedShort(bytes, offset);
+			int attributeLength = readInt(bytes, offset + 2);
+			offset += 6;
+			if (utf8Equals(attributeName, LOCAL_VARIABLE_TABLE)) {
+				return readLocalVariableTable(offset, executable);
+			}
+			offset += attributeLength;
+		}
+		return null;
+	}
+
+	@Nullable
+	private String[] readLocalVariableTable(int offset, Executable executable) {
+		Class<?>[] parameterTypes = executable.getParameterTypes();
+		if (parameterTypes.length == 0) {
+			return new String[0];
+		}
+		// 参数在局部变量表中的slot，long/double占两个slot
+		int[] slots = new int[parameterTypes.length];
+		int nextSlot = (Modifier.isStatic(executable.getModifiers()) ? 0 : 1);
+		for (int i = 0; i < parameterTypes.length; i++) {
+			slots[i] = nextSlot;
+			nextSlot += (parameterTypes[i] == long.class || parameterTypes[i] == double.class ? 2 : 1);
+		}
+		byte[] bytes = this.bytes;
+		String[] names = new String[parameterTypes.length];
+		int tableLength = readUnsignedShort(bytes, offset);
+		offset += 2;
+		for (int i = 0; i < tableLength; i++, offset += 10) {
+			int slot = readUnsignedShort(bytes, offset + 8);
+			if (slot >= nextSlot) {
+				continue;
+			}
+			int startPc = readUnsignedShort(bytes, offset);
+			for (int p = 0; p < slots.length; p++) {
+				// 参数的作用域从0开始，同一slot被复用的局部变量不会覆盖参数名
+				if (slots[p] == slot && (names[p] == null || startPc == 0)) {
+					names[p] = readUtf8(readUnsignedShort(bytes, offset + 4));
+				}
+			}
+		}
+		for (String name : names) {
+			if (name == null) {
+				return null;
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * 跳过 field_info 或 method_info
+	 */
+	private int skipMember(int offset) {
+		int attributesCount = readUnsignedShort(this.bytes, offset + 6);
+		offset += 8;
+		for (int i = 0; i < attributesCount; i++) {
+			offset += 6 + readInt(this.bytes, offset + 2);
+		}
+		return offset;
+	}
+
+	private boolean utf8Equals(int index, byte[] expected) {
+		int offset = this.constantOffsets[index];
+		byte[] bytes = this.bytes;
+		if (readUnsignedShort(bytes, offset) != expected.length) {
+			return false;
+		}
+		offset += 2;
+		for (int i = 0; i < expected.length; i++) {
+			if (bytes[offset + i] != expected[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 解码 modified UTF-8 常量
+	 */
+	private String readUtf8(int index) {
+		String value = this.utf8Cache[index];
+		if (value != null) {
+			return value;
+		}
+		byte[] bytes = this.bytes;
+		int offset = this.constantOffsets[index];
+		int end = offset + 2 + readUnsignedShort(bytes, offset);
+		offset += 2;
+		char[] chars = new char[end - offset];
+		int length = 0;
+		while (offset < end) {
+			int b = bytes[offset++];
+			if ((b & 0x80) == 0) {
+				chars[length++] = (char) b;
+			}
+			else if ((b & 0xE0) == 0xC0) {
+				chars[length++] = (char) (((b & 0x1F) << 6) | (bytes[offset++] & 0x3F));
+			}
+			else {
+				chars[length++] = (char) (((b & 0xF) << 12) | ((bytes[offset++] & 0x3F) << 6) | (bytes[offset++] & 0x3F));
+			}
+		}
+		value = new String(chars, 0, length);
+		this.utf8Cache[index] = value;
+		return value;
+	}
+
+	private static int readUnsignedShort(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+	}
+
+	private static int readInt(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) |
+				((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+	}
+
+	/**
+	 * 方法名与描述符组成的key，与class文件中的方法一一对应，e.g. {@code <init>(Ljava/lang/String;)V}
+	 */
+	static String executableKey(Executable executable) {
+		if (executable instanceof Method) {
+			Method method = (Method) executable;
+			return method.getName() + methodDescriptor(method.getParameterTypes(), method.getReturnType());
+		}
+		return "<init>" + methodDescriptor(executable.getParameterTypes(), void.class);
+	}
+
+	private static String methodDescriptor(Class<?>[] parameterTypes, Class<?> returnType) {
+		StringBuilder sb = appendParameterDescriptor(new StringBuilder(32), parameterTypes);
+		appendDescriptor(sb, returnType);
+		return sb.toString();
+	}
+
+	/**
+	 * 参数部分的描述符，e.g. {@code (Ljava/lang/String;I)}
+	 */
+	static String parameterDescriptor(Class<?>[] parameterTypes) {
+		return appendParameterDescriptor(new StringBuilder(32), parameterTypes).toString();
+	}
+
+	private static StringBuilder appendParameterDescriptor(StringBuilder sb, Class<?>[] parameterTypes) {
+		sb.append('(');
+		for (Class<?> parameterType : parameterTypes) {
+			appendDescriptor(sb, parameterType);
+		}
+		return sb.append(')');
+	}
+
+	private static void appendDescriptor(StringBuilder sb, Class<?> type) {
+		while (type.isArray()) {
+			sb.append('[');
+			type = type.getComponentType();
+		}
+		if (!type.isPrimitive()) {
+			sb.append('L').append(type.getName().replace('.', '/')).append(';');
+		}
+		else if (type == int.class) {
+			sb.append('I');
+		}
+		else if (type == void.class) {
+			sb.append('V');
+		}
+		else if (type == boolean.class) {
+			sb.append('Z');
+		}
+		else if (type == byte.class) {
+			sb.append('B');
+		}
+		else if (type == char.class) {
+			sb.append('C');
+		}
+		else if (type == short.class) {
+			sb.append('S');
+		}
+		else if (type == double.class) {
+			sb.append('D');
+		}
+		else if (type == float.class) {
+			sb.append('F');
+		}
+		else {
+			sb.append('J');
+		}
+	}
+}
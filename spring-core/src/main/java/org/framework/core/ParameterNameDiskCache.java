@@ -0,0 +1,265 @@
+package org.framework.core;
+
+import org.framework.lang.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+
+/**
+ * 跨JVM重启的参数名磁盘缓存
+ *
+ * <p>以class文件的位置、大小及修改时间（jar中的class还有CRC）为key，只需要读取文件属性而不需要读取class文件内容；
+ * 类没有变化时重启后不再需要读取及解析class文件。
+ * 缓存文件只追加写入；打开时已有的记录通过内存映射读取，本次运行追加的记录同时保存在内存中
+ *
+ * <p>文件格式：
+ * <pre class="code">
+ * u4 magic        0x53504E43 ("SPNC")
+ * u1 version      2
+ * { u4 length, u2 key_length, u1[key_length] key (UTF-8), u2 count,
+ *   { utf executable_key ("name(desc)ret"), u1 parameter_count, utf[parameter_count] names }[count] }*
+ * </pre>
+ * {@code count}为0的记录表示该类没有debug信息；打开时发现不完整的尾部记录（e.g. 写入时进程被杀死）会被截掉
+ *
+ * @author dengweichang
+ * @see LocalVariableTableParameterNameDiscoverer
+ */
+final class ParameterNameDiskCache {
+
+	private static final int MAGIC = 0x53504E43;
+
+	private static final int VERSION = 2;
+
+	private static final int HEADER_SIZE = 5;
+
+	private static final int MAX_KEY_LENGTH = 0xFFFF;
+
+	private final FileChannel channel;
+
+	@Nullable
+	private final MappedByteBuffer mapped;
+
+	/**
+	 * key -> 打开时已存在的记录在{@link #mapped}中的偏移量
+	 */
+	private final Map<String, Integer> offsets;
+
+	/**
+	 * key -> 本次运行追加的记录
+	 */
+	private final Map<String, Map<String, String[]>> appended = new ConcurrentHashMap<>(64);
+
+	private ParameterNameDiskCache(FileChannel channel, @Nullable MappedByteBuffer mapped, Map<String, Integer> offsets) {
+		this.channel = channel;
+		this.mapped = mapped;
+		this.offsets = offsets;
+	}
+
+	/**
+	 * 打开缓存文件，不存在时创建
+	 * @param file 缓存文件
+	 * @throws IOException 无法打开或创建
+	 */
+	static ParameterNameDiskCache open(Path file) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			FileLock lock = channel.lock();
+			try {
+				return read(file, channel);
+			}
+			finally {
+				lock.release();
+			}
+		}
+		catch (IOException | RuntimeException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * 读取已有的记录，调用方持有文件锁
+	 */
+	private static ParameterNameDiskCache read(Path file, FileChannel channel) throws IOException {
+		long size = channel.size();
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("Parameter name cache too large: " + file);
+		}
+		MappedByteBuffer mapped = (size > 0 ? channel.map(FileChannel.MapMode.READ_ONLY, 0, size) : null);
+		if (mapped == null || size < HEADER_SIZE || mapped.getInt(0) != MAGIC || mapped.get(4) != VERSION) {
+			// 新文件或者无法识别的旧格式，重新开始
+			channel.truncate(0);
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put((byte) VERSION);
+			header.flip();
+			channel.write(header, 0);
+			return new ParameterNameDiskCache(channel, null, Collections.emptyMap());
+		}
+		Map<String, Integer> offsets = new HashMap<>();
+		int offset = HEADER_SIZE;
+		while (offset + 6 <= size) {
+			int length = mapped.getInt(offset);
+			int keyLength = mapped.getShort(offset + 4) & 0xFFFF;
+			if (length < keyLength + 4 || offset + 4L + length > size) {
+				break;
+			}
+			byte[] key = new byte[keyLength];
+			for (int i = 0; i < keyLength; i++) {
+				key[i] = mapped.get(offset + 6 + i);
+			}
+			offsets.putIfAbsent(new String(key, StandardCharsets.UTF_8), offset);
+			offset += 4 + length;
+		}
+		if (offset < size) {
+			channel.truncate(offset);
+		}
+		return new ParameterNameDiskCache(channel, mapped, offsets);
+	}
+
+	/**
+	 * 根据class文件的位置、大小及修改时间生成key，不读取class文件内容
+	 * @param classFile class文件的URL
+	 * @return key，不是本地目录或jar中的class文件时返回null
+	 */
+	@Nullable
+	static String key(@Nullable URL classFile) {
+		if (classFile == null) {
+			return null;
+		}
+		try {
+			String protocol = classFile.getProtocol();
+			if ("file".equals(protocol)) {
+				BasicFileAttributes attributes =
+						Files.readAttributes(Paths.get(classFile.toURI()), BasicFileAttributes.class);
+				return classFile + "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis();
+			}
+			if ("jar".equals(protocol)) {
+				// 使用缓存的JarFile，只读取中央目录中的条目信息
+				URLConnection connection = classFile.openConnection();
+				if (connection instanceof JarURLConnection) {
+					JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+					if (entry != null) {
+						return classFile + "|" + entry.getSize() + "|" + entry.getTime() + "|" +
+								Long.toHexString(entry.getCrc());
+					}
+				}
+			}
+		}
+		catch (IOException | URISyntaxException | RuntimeException ex) {
+			// 当作无法缓存
+		}
+		return null;
+	}
+
+	/**
+	 * 查找缓存的参数名
+	 * @param key {@link #key(URL)}
+	 * @return {@link LocalVariableTableReader#executableKey} -> 参数名，没有debug信息时为空map，没有缓存时返回null
+	 */
+	@Nullable
+	Map<String, String[]> get(String key) {
+		Map<String, String[]> names = this.appended.get(key);
+		if (names != null) {
+			return names;
+		}
+		Integer offset = this.offsets.get(key);
+		MappedByteBuffer mapped = this.mapped;
+		if (offset == null || mapped == null) {
+			return null;
+		}
+		int keyLength = mapped.getShort(offset + 4) & 0xFFFF;
+		int start = offset + 6 + keyLength;
+		byte[] record = new byte[mapped.getInt(offset) - 2 - keyLength];
+		for (int i = 0; i < record.length; i++) {
+			record[i] = mapped.get(start + i);
+		}
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+			int count = in.readUnsignedShort();
+			names = new LinkedHashMap<>(count * 4 / 3 + 1);
+			for (int i = 0; i < count; i++) {
+				String executableKey = in.readUTF();
+				String[] parameterNames = new String[in.readUnsignedByte()];
+				for (int p = 0; p < parameterNames.length; p++) {
+					parameterNames[p] = in.readUTF();
+				}
+				names.put(executableKey, parameterNames);
+			}
+			return names;
+		}
+		catch (IOException ex) {
+			// 损坏的记录，当作未缓存
+			return null;
+		}
+	}
+
+	/**
+	 * 追加一条记录
+	 * @param key {@link #key(URL)}
+	 * @param names {@link LocalVariableTableReader#executableKey} -> 参数名，没有debug信息时为空map
+	 * @throws IOException 写入失败
+	 */
+	void put(String key, Map<String, String[]> names) throws IOException {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		if (keyBytes.length > MAX_KEY_LENGTH ||
+				this.appended.putIfAbsent(key, names) != null || this.offsets.containsKey(key)) {
+			return;
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(0);
+		out.writeShort(keyBytes.length);
+		out.write(keyBytes);
+		out.writeShort(names.size());
+		for (Map.Entry<String, String[]> entry : names.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeByte(entry.getValue().length);
+			for (String name : entry.getValue()) {
+				out.writeUTF(name);
+			}
+		}
+		out.flush();
+		ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+		record.putInt(0, record.remaining() - 4);
+		synchronized (this.channel) {
+			// 多个JVM可能共用同一个缓存文件
+			FileLock lock = this.channel.lock();
+			try {
+				long position = this.channel.size();
+				while (record.hasRemaining()) {
+					position += this.channel.write(record, position);
+				}
+			}
+			finally {
+				lock.release();
+			}
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package org.framework.core;
+
+import org.framework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 编译期生成的参数名索引（{@value #INDEX_LOCATION}）
+ *
+ * <p>由 {@code spring-core-indexer} 模块的注解处理器生成，格式见其 {@code ParameterNameIndexWriter}。
+ * 文件系统中的索引文件通过内存映射读取，jar中的索引读入内存；
+ * 打开时只解码类名，其余字符串在查找时按需解码
+ *
+ * @author dengweichang
+ * @see IndexedParameterNameDiscoverer
+ */
+final class ParameterNameIndex {
+
+	/**
+	 * 索引文件在classpath中的位置
+	 */
+	static final String INDEX_LOCATION = "META-INF/spring.parameter-names";
+
+	private static final int MAGIC = 0x53504E58;
+
+	private static final int VERSION = 1;
+
+	private final ByteBuffer buffer;
+
+	/**
+	 * 字符串表下标 -> 字符串在buffer中的偏移量
+	 */
+	private final int[] stringOffsets;
+
+	private final String[] stringCache;
+
+	/**
+	 * 类名 -> 该类方法及构造函数记录的起始位置
+	 */
+	private final Map<String, Integer> classOffsets;
+
+	private ParameterNameIndex(ByteBuffer buffer) {
+		if (buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+			throw new IllegalArgumentException("Unsupported parameter name index");
+		}
+		this.buffer = buffer;
+		int offset = 5;
+		int stringCount = buffer.getInt(offset);
+		offset += 4;
+		this.stringOffsets = new int[stringCount];
+		this.stringCache = new String[stringCount];
+		for (int i = 0; i < stringCount; i++) {
+			this.stringOffsets[i] = offset;
+			offset += 2 + (buffer.getShort(offset) & 0xFFFF);
+		}
+		int classCount = buffer.getInt(offset);
+		offset += 4;
+		this.classOffsets = new HashMap<>(classCount * 4 / 3 + 1);
+		for (int i = 0; i < classCount; i++) {
+			this.classOffsets.put(getString(buffer.getInt(offset)), offset + 4);
+			int executableCount = buffer.getShort(offset + 4) & 0xFFFF;
+			offset += 6;
+			for (int j = 0; j < executableCount; j++) {
+				int parameterCount = buffer.get(offset + 8) & 0xFF;
+				offset += 9 + parameterCount * 4;
+			}
+		}
+	}
+
+	/**
+	 * 加载索引文件
+	 * @param url 索引文件的位置
+	 * @throws IOException 读取失败
+	 * @throws IllegalArgumentException 格式无法识别
+	 */
+	static ParameterNameIndex load(URL url) throws IOException {
+		ByteBuffer buffer;
+		if ("file".equals(url.getProtocol())) {
+			try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			catch (URISyntaxException ex) {
+				throw new IOException("Invalid index location " + url, ex);
+			}
+		}
+		else {
+			try (InputStream is = url.openStream()) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+				byte[] chunk = new byte[4096];
+				int read;
+				while ((read = is.read(chunk)) != -1) {
+					out.write(chunk, 0, read);
+				}
+				buffer = ByteBuffer.wrap(out.toByteArray());
+			}
+		}
+		try {
+			return new ParameterNameIndex(buffer);
+		}
+		catch (IndexOutOfBoundsException ex) {
+			throw new IllegalArgumentException("Truncated parameter name index " + url, ex);
+		}
+	}
+
+	/**
+	 * 查找方法或构造函数的参数名
+	 * @param className 声明的类名
+	 * @param name 方法名，构造函数为 {@code <init>}
+	 * @param parameterDescriptor 参数描述符，e.g. {@code (Ljava/lang/String;I)}
+	 * @return 参数名，索引中没有时返回null
+	 */
+	@Nullable
+	String[] getParameterNames(String className, String name, String parameterDescriptor) {
+		Integer classOffset = this.classOffsets.get(className);
+		if (classOffset == null) {
+			return null;
+		}
+		ByteBuffer buffer = this.buffer;
+		int offset = classOffset;
+		int executableCount = buffer.getShort(offset) & 0xFFFF;
+		offset += 2;
+		for (int i = 0; i < executableCount; i++) {
+			int parameterCount = buffer.get(offset + 8) & 0xFF;
+			if (name.equals(getString(buffer.getInt(offset))) &&
+					parameterDescriptor.equals(getString(buffer.getInt(offset + 4)))) {
+				String[] names = new String[parameterCount];
+				for (int p = 0; p < parameterCount; p++) {
+					names[p] = getString(buffer.getInt(offset + 9 + p * 4));
+				}
+				return names;
+			}
+			offset += 9 + parameterCount * 4;
+		}
+		return null;
+	}
+
+	/**
+	 * 解码字符串表中的 modified UTF-8 字符串
+	 */
+	private String getString(int index) {
+		String value = this.stringCache[index];
+		if (value != null) {
+			return value;
+		}
+		ByteBuffer buffer = this.buffer;
+		int offset = this.stringOffsets[index];
+		int end = offset + 2 + (buffer.getShort(offset) & 0xFFFF);
+		offset += 2;
+		char[] chars = new char[end - offset];
+		int length = 0;
+		while (offset < end) {
+			int b = buffer.get(offset++);
+			if ((b & 0x80) == 0) {
+				chars[length++] = (char) b;
+			}
+			else if ((b & 0xE0) == 0xC0) {
+				chars[length++] = (char) (((b & 0x1F) << 6) | (buffer.get(offset++) & 0x3F));
+			}
+			else {
+				chars[length++] = (char) (((b & 0xF) << 12) | ((buffer.get(offset++) & 0x3F) << 6) |
+						(buffer.get(offset++) & 0x3F));
+			}
+		}
+		value = new String(chars, 0, length);
+		this.stringCache[index] = value;
+		return value;
+	}
+}
@@ -0,0 +1,246 @@
+package org.framework.core;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.framework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 为{@link LocalVariableTableParameterNameDiscoverer}预先填充参数名缓存
+ *
+ * <p>扫描整个包（包括子包）或者整个jar中的class文件，在{@link ForkJoinPool}中并行解析，
+ * 适合在启动时于后台调用，避免第一次请求在请求线程上解析class文件
+ *
+ * <p>jar通过{@link ZipFile}随机读取，目录中的class文件直接读取；
+ * 预热需要加载（但不初始化）扫描到的类，无法加载的类会被跳过；
+ * 类加载器从其他位置（e.g. classpath中更靠前的同名类）加载到的类同样被跳过，避免为它缓存不属于它的参数名
+ *
+ * @author dengweichang
+ */
+public class ParameterNamePrewarmer {
+
+	private static final Log logger = LogFactory.getLog(ParameterNamePrewarmer.class);
+
+	private static final String CLASS_FILE_SUFFIX = ".class";
+
+	private final LocalVariableTableParameterNameDiscoverer discoverer;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * 使用{@link ForkJoinPool#commonPool()}
+	 * @param discoverer 需要预热的discoverer
+	 */
+	public ParameterNamePrewarmer(LocalVariableTableParameterNameDiscoverer discoverer) {
+		this(discoverer, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param discoverer 需要预热的discoverer
+	 * @param pool 解析class文件的线程池
+	 */
+	public ParameterNamePrewarmer(LocalVariableTableParameterNameDiscoverer discoverer, ForkJoinPool pool) {
+		this.discoverer = discoverer;
+		this.pool = pool;
+	}
+
+	/**
+	 * 预热包（包括子包）中所有的类
+	 * @param packageName 包名，e.g. {@code com.example.web}
+	 * @param classLoader 加载类的类加载器，为null时使用系统类加载器
+	 * @return 完成后返回预热的类的数量
+	 */
+	public CompletableFuture<Integer> prewarmPackage(String packageName, @Nullable ClassLoader classLoader) {
+		ClassLoader cl = (classLoader != null ? classLoader : ClassLoader.getSystemClassLoader());
+		return CompletableFuture.supplyAsync(() -> {
+			String packagePath = packageName.replace('.', '/');
+			List<CompletableFuture<Integer>> futures = new ArrayList<>();
+			try {
+				Enumeration<URL> urls = cl.getResources(packagePath);
+				while (urls.hasMoreElements()) {
+					URL url = urls.nextElement();
+					if ("file".equals(url.getProtocol())) {
+						Path directory = Paths.get(url.toURI());
+						futures.add(prewarmDirectory(directory, packagePath + "/", cl));
+					}
+					else if ("jar".equals(url.getProtocol())) {
+						URLConnection connection = url.openConnection();
+						if (connection instanceof JarURLConnection) {
+							URL jarFileUrl = ((JarURLConnection) connection).getJarFileURL();
+							if ("file".equals(jarFileUrl.getProtocol())) {
+								futures.add(prewarm(Paths.get(jarFileUrl.toURI()), packagePath + "/", cl));
+							}
+						}
+					}
+				}
+			}
+			catch (IOException | URISyntaxException ex) {
+				if (logger.isInfoEnabled()) {
+					logger.info("could not scan package '" + packageName + "' for parameter names: " + ex);
+				}
+			}
+			return futures.stream().mapToInt(CompletableFuture::join).sum();
+		}, this.pool);
+	}
+
+	/**
+	 * 预热jar中所有的类
+	 * @param jarFile jar文件
+	 * @param classLoader 加载类的类加载器，为null时使用系统类加载器
+	 * @return 完成后返回预热的类的数量
+	 */
+	public CompletableFuture<Integer> prewarmJar(Path jarFile, @Nullable ClassLoader classLoader) {
+		return prewarm(jarFile, "", (classLoader != null ? classLoader : ClassLoader.getSystemClassLoader()));
+	}
+
+	private CompletableFuture<Integer> prewarm(Path jarFile, String prefix, ClassLoader classLoader) {
+		ZipFile zipFile;
+		try {
+			zipFile = new ZipFile(jarFile.toFile());
+		}
+		catch (IOException ex) {
+			if (logger.isInfoEnabled()) {
+				logger.info("could not open '" + jarFile + "' for parameter names: " + ex);
+			}
+			return CompletableFuture.completedFuture(0);
+		}
+		AtomicInteger count = new AtomicInteger();
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		Enumeration<? extends ZipEntry> entries = zipFile.entries();
+		while (entries.hasMoreElements()) {
+			ZipEntry entry = entries.nextElement();
+			String entryName = entry.getName();
+			if (entry.isDirectory() || !entryName.startsWith(prefix) || !isClassFile(entryName)) {
+				continue;
+			}
+			futures.add(CompletableFuture.runAsync(() -> {
+				try (InputStream is = zipFile.getInputStream(entry)) {
+					if (prewarmClass(entryName, LocalVariableTableParameterNameDiscoverer.readClassFile(is), classLoader, jarFile)) {
+						count.incrementAndGet();
+					}
+				}
+				catch (IOException ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("could not read '" + entryName + "' from '" + jarFile + "': " + ex);
+					}
+				}
+			}, this.pool));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).handle((result, ex) -> {
+			try {
+				zipFile.close();
+			}
+			catch (IOException closeEx) {
+				// ignore
+			}
+			return count.get();
+		});
+	}
+
+	private CompletableFuture<Integer> prewarmDirectory(Path directory, String prefix, ClassLoader classLoader) {
+		AtomicInteger count = new AtomicInteger();
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.filter(file -> isClassFile(file.getFileName().toString())).forEach(file -> {
+				String relativePath = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+				futures.add(CompletableFuture.runAsync(() -> {
+					try {
+						if (prewarmClass(prefix + relativePath, Files.readAllBytes(file), classLoader, file)) {
+							count.incrementAndGet();
+						}
+					}
+					catch (IOException ex) {
+						if (logger.isDebugEnabled()) {
+							logger.debug("could not read '" + file + "': " + ex);
+						}
+					}
+				}, this.pool));
+			});
+		}
+		catch (IOException ex) {
+			if (logger.isInfoEnabled()) {
+				logger.info("could not scan '" + directory + "' for parameter names: " + ex);
+			}
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).handle((result, ex) -> count.get());
+	}
+
+	/**
+	 * @param source 扫描到该class文件的jar文件，或者目录中的class文件本身
+	 */
+	private boolean prewarmClass(String classFilePath, byte[] classFile, ClassLoader classLoader, Path source) {
+		String className = classFilePath.substring(0, classFilePath.length() - CLASS_FILE_SUFFIX.length()).replace('/', '.');
+		Class<?> clazz;
+		try {
+			clazz = Class.forName(className, false, classLoader);
+		}
+		catch (Throwable ex) {
+			// 缺少依赖等原因无法加载的类
+			if (logger.isDebugEnabled()) {
+				logger.debug("could not load class [" + className + "] for parameter names: " + ex);
+			}
+			return false;
+		}
+		if (!isLoadedFrom(clazz, classFilePath, source)) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("skipping class [" + className + "] for parameter names: not loaded from '" + source + "'");
+			}
+			return false;
+		}
+		this.discoverer.cacheParameterNames(clazz, classFile);
+		return true;
+	}
+
+	/**
+	 * 类自身的class文件是否就是扫描到的文件
+	 */
+	private static boolean isLoadedFrom(Class<?> clazz, String classFilePath, Path source) {
+		URL url = clazz.getResource("/" + classFilePath);
+		if (url == null) {
+			return false;
+		}
+		try {
+			Path location = null;
+			if ("file".equals(url.getProtocol())) {
+				location = Paths.get(url.toURI());
+			}
+			else if ("jar".equals(url.getProtocol())) {
+				URLConnection connection = url.openConnection();
+				if (connection instanceof JarURLConnection) {
+					// 只解析url，不会打开jar文件
+					URL jarFileUrl = ((JarURLConnection) connection).getJarFileURL();
+					if ("file".equals(jarFileUrl.getProtocol())) {
+						location = Paths.get(jarFileUrl.toURI());
+					}
+				}
+			}
+			return (location != null && Files.isSameFile(location, source));
+		}
+		catch (IOException | URISyntaxException | IllegalArgumentException ex) {
+			return false;
+		}
+	}
+
+	private static boolean isClassFile(String name) {
+		return (name.endsWith(CLASS_FILE_SUFFIX) && !name.startsWith("META-INF/") &&
+				!name.endsWith("module-info.class") && !name.endsWith("package-info.class"));
+	}
+}
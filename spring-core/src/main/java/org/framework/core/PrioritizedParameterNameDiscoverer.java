@@ -0,0 +1,91 @@
+package org.framework.core;
+
+import org.framework.lang.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link ParameterNamedDiscoverer}
+ *
+ * <p>按添加顺序依次尝试多个{@link ParameterNamedDiscoverer}，返回第一个不为null的结果
+ *
+ * <p>每个方法/构造函数的结果（包括未找到参数名的情况）都会被缓存；
+ * 缓存按声明类基于{@link ClassValue}保存，不会阻止类及其类加载器被卸载
+ *
+ * @author dengweichang
+ */
+public class PrioritizedParameterNameDiscoverer implements ParameterNamedDiscoverer {
+
+	/**
+	 * 标记未找到参数名
+	 */
+	private static final String[] NO_PARAMETER_NAMES = new String[0];
+
+	private final List<ParameterNamedDiscoverer> parameterNameDiscoverers = new CopyOnWriteArrayList<>();
+
+	private volatile ClassValue<Map<Executable, String[]>> parameterNamesCache = createCache();
+
+	/**
+	 * 添加一个{@link ParameterNamedDiscoverer}，优先级低于已添加的
+	 * <p>会清空已缓存的结果
+	 * @param pnd 参数名发现策略
+	 */
+	public void addDiscoverer(ParameterNamedDiscoverer pnd) {
+		this.parameterNameDiscoverers.add(pnd);
+		this.parameterNamesCache = createCache();
+	}
+
+	@Override
+	@Nullable
+	public String[] getParameterNames(Method method) {
+		return getCachedParameterNames(method);
+	}
+
+	@Override
+	@Nullable
+	public String[] getParameterNames(Constructor<?> ctor) {
+		return getCachedParameterNames(ctor);
+	}
+
+	@Nullable
+	private String[] getCachedParameterNames(Executable executable) {
+		Map<Executable, String[]> cache = this.parameterNamesCache.get(executable.getDeclaringClass());
+		String[] result = cache.get(executable);
+		if (result == null) {
+			result = discoverParameterNames(executable);
+			cache.put(executable, (result != null ? result : NO_PARAMETER_NAMES));
+		}
+		else if (result == NO_PARAMETER_NAMES) {
+			return null;
+		}
+		return result;
+	}
+
+	@Nullable
+	private String[] discoverParameterNames(Executable executable) {
+		for (ParameterNamedDiscoverer pnd : this.parameterNameDiscoverers) {
+			String[] result = (executable instanceof Method ? pnd.getParameterNames((Method) executable) :
+					pnd.getParameterNames((Constructor<?>) executable));
+			if (result != null) {
+				return result;
+			}
+		}
+		return null;
+	}
+
+	private static ClassValue<Map<Executable, String[]>> createCache() {
+		return new ClassValue<Map<Executable, String[]>>() {
+			@Override
+			protected Map<Executable, String[]> computeValue(Class<?> type) {
+				return new ConcurrentHashMap<>(8);
+			}
+		};
+	}
+
+}
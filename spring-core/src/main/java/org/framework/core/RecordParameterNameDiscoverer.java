@@ -0,0 +1,89 @@
+package org.framework.core;
+
+import org.framework.lang.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * {@link ParameterNamedDiscoverer}
+ *
+ * <p>record类型的标准构造函数（参数与record组件一一对应）的参数名即record组件名
+ *
+ * <p>record在JDK16中引入，通过反射访问相关API；运行在更早的JDK上时不会返回任何参数名
+ *
+ * @author dengweichang
+ */
+public class RecordParameterNameDiscoverer implements ParameterNamedDiscoverer {
+
+	@Nullable
+	private static final Method isRecordMethod;
+
+	@Nullable
+	private static final Method getRecordComponentsMethod;
+
+	@Nullable
+	private static final Method getNameMethod;
+
+	@Nullable
+	private static final Method getTypeMethod;
+
+	static {
+		Method isRecord = null;
+		Method getRecordComponents = null;
+		Method getName = null;
+		Method getType = null;
+		try {
+			isRecord = Class.class.getMethod("isRecord");
+			getRecordComponents = Class.class.getMethod("getRecordComponents");
+			Class<?> recordComponentClass = getRecordComponents.getReturnType().getComponentType();
+			getName = recordComponentClass.getMethod("getName");
+			getType = recordComponentClass.getMethod("getType");
+		}
+		catch (NoSuchMethodException ex) {
+			// JDK16之前没有record
+			isRecord = null;
+		}
+		isRecordMethod = isRecord;
+		getRecordComponentsMethod = getRecordComponents;
+		getNameMethod = getName;
+		getTypeMethod = getType;
+	}
+
+	@Override
+	@Nullable
+	public String[] getParameterNames(Method method) {
+		return null;
+	}
+
+	@Override
+	@Nullable
+	public String[] getParameterNames(Constructor<?> ctor) {
+		if (isRecordMethod == null || getRecordComponentsMethod == null ||
+				getNameMethod == null || getTypeMethod == null) {
+			return null;
+		}
+		try {
+			Class<?> declaringClass = ctor.getDeclaringClass();
+			if (!(Boolean) isRecordMethod.invoke(declaringClass)) {
+				return null;
+			}
+			Object[] components = (Object[]) getRecordComponentsMethod.invoke(declaringClass);
+			Class<?>[] parameterTypes = ctor.getParameterTypes();
+			if (components.length != parameterTypes.length) {
+				return null;
+			}
+			Class<?>[] componentTypes = new Class<?>[components.length];
+			String[] names = new String[components.length];
+			for (int i = 0; i < components.length; i++) {
+				componentTypes[i] = (Class<?>) getTypeMethod.invoke(components[i]);
+				names[i] = (String) getNameMethod.invoke(components[i]);
+			}
+			return (Arrays.equals(componentTypes, parameterTypes) ? names : null);
+		}
+		catch (ReflectiveOperationException ex) {
+			return null;
+		}
+	}
+}
@@ -7,46 +7,82 @@ import org.framework.lang.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * spring本地属性的静态持有者
  *
- * <p>加载 spring根目录下 {@code spring.properties} 文件
- * {@link #setProperty} 可以设置属性
- * 检查属性时优先返回本地属性，然后返回 {@link System#getProperty} 获取的JVM属性
+ * <p>按以下顺序查找属性，先找到的优先：
+ * <ol>
+ *     <li>{@link #setProperty}/{@link #setFlag}设置的本地属性</li>
+ *     <li>{@link System#getProperty} 获取的JVM属性</li>
+ *     <li>环境变量，支持宽松的名称映射（e.g. {@code spring.objenesis.ignore} -> {@code SPRING_OBJENESIS_IGNORE}），
+ *     {@code spring.getenv.ignore}为true时跳过</li>
+ *     <li>classpath下所有的 {@code spring.properties} 文件，同一个key以classpath中靠前的文件为准</li>
+ * </ol>
+ * 环境变量与 {@code spring.properties} 文件在第一次查找时才会加载，合并为一个预先计算好的索引，
+ * 不再在类初始化时读取文件
  *
  * <p> spring.getenv.ignore/spring.beaninfo.ignore是另一种可以设置spring系统相关属性的方法
  * {@link #setFlag} 将本地标识设为true以允许覆盖本地配置
  *
+ * <p>本地属性保存在一个不可变的快照中，{@link #setProperty}/{@link #setFlag}以copy-on-write的方式原子替换快照，
+ * 读取时不加锁
+ *
+ * <p>每个快照带有一份解析结果缓存，同时记录命中与未命中的key，以及{@link #getFlat}/{@link #getInt}/
+ * {@link #getLong}/{@link #getDuration}解析后的值；替换快照即丢弃缓存。
+ * 因此运行期间通过{@link System#setProperty}修改的JVM属性需要调用{@link #refreshSystemProperties()}才可见
+ *
+ * <p>{@link #startReloading}可以开启 {@code spring.properties} 文件的热加载：后台线程发现文件变化后重新解析，
+ * 原子替换索引，并只把发生变化的key通知给{@link #addChangeListener 注册的监听器}
+ *
  * @author dengweichang
  */
 public final class SpringProperties {
 
+	/**
+	 * 表明spring忽略环境变量
+	 */
+	public static final String IGNORE_GETENV_PROPERTY_NAME = "spring.getenv.ignore";
+
 	private static final String PROPERTIES_RESOURCE_LOCATION = "spring.properties";
 
+	/**
+	 * 最多缓存多少个不存在的key，超出后不再缓存，避免动态拼接key的调用方使缓存无限增长
+	 */
+	private static final int MAX_CACHED_MISSES = 256;
+
 	private static final Log logger = LogFactory.getLog(SpringProperties.class);
 
-	private static final Properties localProperties = new Properties();
+	/**
+	 * 本地属性及其解析缓存的当前快照
+	 */
+	private static final AtomicReference<Snapshot> snapshot =
+			new AtomicReference<>(new Snapshot(Collections.emptyMap()));
 
-	static {
-		try {
-			ClassLoader cl = SpringProperties.class.getClassLoader();
-			//cl怎么什么情况下会为空呢 - -
-			URL url = (cl != null ? cl.getResource(PROPERTIES_RESOURCE_LOCATION) :
-					ClassLoader.getSystemResource(PROPERTIES_RESOURCE_LOCATION));
-			if (url != null) {
-				logger.debug("found 'spring.properties' file in local classpath");
-				try (InputStream is = url.openStream()) {
-					localProperties.load(is);
-				}
-			}
-		} catch (IOException e) {
-			if (logger.isInfoEnabled()) {
-				logger.info("could not load 'spring.properties' file from local classpath: " + e);
-			}
-		}
-	}
+	/**
+	 * 环境变量与{@code spring.properties}文件合并后的索引，第一次使用时创建
+	 */
+	@Nullable
+	private static volatile Map<String, String> sourceIndex;
+
+	private static final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+	@Nullable
+	private static SpringPropertiesReloader reloader;
 
 	private SpringProperties() {
 	}
@@ -57,12 +93,23 @@ public final class SpringProperties {
 	 * @param value if null to reset it
 	 */
 	public static void setProperty(String key, @Nullable String value) {
-		if (value != null) {
-			localProperties.setProperty(key, value);
-		}
-		else {
-			localProperties.remove(key);
+		Snapshot current;
+		Map<String, String> updated;
+		do {
+			current = snapshot.get();
+			if (value != null ? value.equals(current.localProperties.get(key)) :
+					!current.localProperties.containsKey(key)) {
+				return;
+			}
+			updated = new HashMap<>(current.localProperties);
+			if (value != null) {
+				updated.put(key, value);
+			}
+			else {
+				updated.remove(key);
+			}
 		}
+		while (!snapshot.compareAndSet(current, new Snapshot(Collections.unmodifiableMap(updated))));
 	}
 
 	/**
@@ -73,30 +120,393 @@ public final class SpringProperties {
 	 */
 	@Nullable
 	public static String getProperty(String key) {
-		String value = localProperties.getProperty(key);
-		if (value != null) {
-			return value;
+		return resolve(key).value;
+	}
+
+	/**
+	 * 将某个配置设为true
+	 * @param key the property key
+	 */
+	public static void setFlag(String key) {
+		setProperty(key, Boolean.TRUE.toString());
+	}
+
+	public static boolean getFlat(String key) {
+		ResolvedProperty resolved = resolve(key);
+		if (resolved.value == null) {
+			// ABSENT由所有不存在的key共用，不能写入解析结果
+			return false;
+		}
+		Object parsed = resolved.parsed;
+		if (parsed instanceof Boolean) {
+			return (Boolean) parsed;
+		}
+		boolean flag = Boolean.parseBoolean(resolved.value);
+		resolved.parsed = flag;
+		return flag;
+	}
+
+	/**
+	 * 获取int类型的配置
+	 * @param key the property key
+	 * @param defaultValue 属性不存在或无法解析时的默认值
+	 */
+	public static int getInt(String key, int defaultValue) {
+		Object parsed = parse(key, Integer.class);
+		return (parsed instanceof Integer ? (Integer) parsed : defaultValue);
+	}
+
+	/**
+	 * 获取long类型的配置
+	 * @param key the property key
+	 * @param defaultValue 属性不存在或无法解析时的默认值
+	 */
+	public static long getLong(String key, long defaultValue) {
+		Object parsed = parse(key, Long.class);
+		return (parsed instanceof Long ? (Long) parsed : defaultValue);
+	}
+
+	/**
+	 * 获取时间间隔类型的配置
+	 * <p>支持ISO-8601格式（e.g. {@code PT30S}）或者以毫秒为单位的数字
+	 * @param key the property key
+	 * @param defaultValue 属性不存在或无法解析时的默认值
+	 */
+	@Nullable
+	public static Duration getDuration(String key, @Nullable Duration defaultValue) {
+		Object parsed = parse(key, Duration.class);
+		return (parsed instanceof Duration ? (Duration) parsed : defaultValue);
+	}
+
+	/**
+	 * 丢弃已缓存的解析结果，重新读取JVM属性
+	 * <p>运行期间调用{@link System#setProperty}之后需要调用该方法
+	 */
+	public static void refreshSystemProperties() {
+		Snapshot current;
+		do {
+			current = snapshot.get();
+		}
+		while (!snapshot.compareAndSet(current, new Snapshot(current.localProperties)));
+	}
+
+	/**
+	 * 开启 {@code spring.properties} 文件的热加载
+	 * <p>文件系统中的文件通过{@link java.nio.file.WatchService}监听，其余位置（e.g. jar中的文件）按间隔轮询；
+	 * 重新解析在后台线程中进行，读取属性的线程不会被阻塞。已开启时以新的间隔重新开启
+	 * @param pollInterval 轮询间隔
+	 */
+	public static synchronized void startReloading(Duration pollInterval) {
+		if (pollInterval.isNegative() || pollInterval.isZero()) {
+			throw new IllegalArgumentException("pollInterval must be positive: " + pollInterval);
+		}
+		stopReloading();
+		SpringPropertiesReloader reloader = new SpringPropertiesReloader(pollInterval);
+		reloader.start();
+		SpringProperties.reloader = reloader;
+	}
+
+	/**
+	 * 关闭 {@code spring.properties} 文件的热加载
+	 */
+	public static synchronized void stopReloading() {
+		SpringPropertiesReloader reloader = SpringProperties.reloader;
+		if (reloader != null) {
+			reloader.stop();
+			SpringProperties.reloader = null;
+		}
+	}
+
+	/**
+	 * 注册属性变化的监听器
+	 * <p>热加载发现 {@code spring.properties} 文件变化后，在后台线程中回调
+	 * @param listener 监听器
+	 */
+	public static void addChangeListener(ChangeListener listener) {
+		changeListeners.add(listener);
+	}
+
+	/**
+	 * 移除属性变化的监听器
+	 * @param listener 监听器
+	 */
+	public static void removeChangeListener(ChangeListener listener) {
+		changeListeners.remove(listener);
+	}
+
+	/**
+	 * 重新加载环境变量与{@code spring.properties}文件，原子替换索引并通知发生变化的key
+	 * <p>由{@link SpringPropertiesReloader}在后台线程调用
+	 */
+	static void reloadSourceIndex() {
+		Map<String, String> reloaded = buildSourceIndex();
+		Map<String, String> previous;
+		synchronized (SpringProperties.class) {
+			previous = sourceIndex;
+			sourceIndex = reloaded;
+		}
+		refreshSystemProperties();
+		if (previous == null) {
+			return;
+		}
+		Set<String> changedKeys = new HashSet<>();
+		for (Map.Entry<String, String> entry : reloaded.entrySet()) {
+			if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+				changedKeys.add(entry.getKey());
+			}
+		}
+		for (String key : previous.keySet()) {
+			if (!reloaded.containsKey(key)) {
+				changedKeys.add(key);
+			}
+		}
+		if (changedKeys.isEmpty()) {
+			return;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("reloaded 'spring.properties', changed keys: " + changedKeys);
 		}
+		Set<String> keys = Collections.unmodifiableSet(changedKeys);
+		for (ChangeListener listener : changeListeners) {
+			try {
+				listener.propertiesChanged(keys);
+			} catch (Throwable ex) {
+				logger.warn("SpringProperties change listener failed", ex);
+			}
+		}
+	}
+
+	/**
+	 * 返回classpath下所有的{@code spring.properties}文件
+	 */
+	static Enumeration<URL> findPropertiesResources() throws IOException {
+		ClassLoader cl = SpringProperties.class.getClassLoader();
+		//cl怎么什么情况下会为空呢 - -
+		return (cl != null ? cl.getResources(PROPERTIES_RESOURCE_LOCATION) :
+				ClassLoader.getSystemResources(PROPERTIES_RESOURCE_LOCATION));
+	}
+
+	private static ResolvedProperty resolve(String key) {
+		Snapshot current = snapshot.get();
+		ResolvedProperty resolved = current.resolvedProperties.get(key);
+		if (resolved == null) {
+			String value = current.localProperties.get(key);
+			if (value == null) {
+				value = getSystemProperty(key);
+			}
+			if (value == null) {
+				value = lookupSourceIndex(key);
+			}
+			if (value != null) {
+				resolved = new ResolvedProperty(value);
+				current.resolvedProperties.put(key, resolved);
+			}
+			else {
+				resolved = ResolvedProperty.ABSENT;
+				if (current.cachedMisses.get() < MAX_CACHED_MISSES &&
+						current.resolvedProperties.putIfAbsent(key, resolved) == null) {
+					current.cachedMisses.incrementAndGet();
+				}
+			}
+		}
+		return resolved;
+	}
+
+	@Nullable
+	private static String getSystemProperty(String key) {
 		try {
-			value = System.getProperty(key);
+			return System.getProperty(key);
 		} catch (Exception e) {
 			if (logger.isInfoEnabled()) {
 				logger.info("could not retrieve system property '" + key + "':" + e );
 			}
+			return null;
+		}
+	}
+
+	@Nullable
+	private static String lookupSourceIndex(String key) {
+		Map<String, String> index = sourceIndex;
+		if (index == null) {
+			synchronized (SpringProperties.class) {
+				index = sourceIndex;
+				if (index == null) {
+					index = buildSourceIndex();
+					sourceIndex = index;
+				}
+			}
+		}
+		String value = index.get(key);
+		if (value == null) {
+			String relaxedKey = relaxedName(key);
+			if (!relaxedKey.equals(key)) {
+				value = index.get(relaxedKey);
+			}
 		}
 		return value;
 	}
 
 	/**
-	 * 将某个配置设为true
-	 * @param key the property key
+	 * 合并classpath下所有的{@code spring.properties}文件与环境变量
+	 * <p>文件中的key原样保存，同一个key以classpath中靠前的文件为准；
+	 * 环境变量优先级高于文件，同时以原名及{@link #relaxedName 宽松名称}保存
 	 */
-	public static void setFlag(String key) {
-		localProperties.put(key, Boolean.TRUE.toString());
+	private static Map<String, String> buildSourceIndex() {
+		Map<String, String> index = new HashMap<>(64);
+		loadPropertiesResources(index);
+		String ignoreGetenv = snapshot.get().localProperties.get(IGNORE_GETENV_PROPERTY_NAME);
+		if (ignoreGetenv == null) {
+			ignoreGetenv = getSystemProperty(IGNORE_GETENV_PROPERTY_NAME);
+		}
+		if (ignoreGetenv == null) {
+			ignoreGetenv = index.get(IGNORE_GETENV_PROPERTY_NAME);
+		}
+		if (!Boolean.parseBoolean(ignoreGetenv)) {
+			try {
+				for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+					index.put(entry.getKey(), entry.getValue());
+					index.put(relaxedName(entry.getKey()), entry.getValue());
+				}
+			} catch (Exception e) {
+				if (logger.isInfoEnabled()) {
+					logger.info("could not retrieve environment variables: " + e);
+				}
+			}
+		}
+		return Collections.unmodifiableMap(index);
 	}
 
-	public static boolean getFlat(String key) {
-		return Boolean.parseBoolean(getProperty(key));
+	private static void loadPropertiesResources(Map<String, String> index) {
+		try {
+			Enumeration<URL> urls = findPropertiesResources();
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				if (logger.isDebugEnabled()) {
+					logger.debug("found 'spring.properties' file in local classpath: " + url);
+				}
+				Properties props = new Properties();
+				try (InputStream is = url.openStream()) {
+					props.load(is);
+				}
+				for (String key : props.stringPropertyNames()) {
+					index.putIfAbsent(key, props.getProperty(key));
+				}
+			}
+		} catch (IOException e) {
+			if (logger.isInfoEnabled()) {
+				logger.info("could not load 'spring.properties' file from local classpath: " + e);
+			}
+		}
+	}
+
+	/**
+	 * 宽松名称：小写，{@code '_'}/{@code '-'}统一为{@code '.'}
+	 * <p>e.g. {@code SPRING_OBJENESIS_IGNORE} 与 {@code spring.objenesis.ignore} 的宽松名称相同
+	 */
+	private static String relaxedName(String name) {
+		return name.toLowerCase(Locale.ROOT).replace('_', '.').replace('-', '.');
+	}
+
+	/**
+	 * 解析并缓存指定类型的属性值
+	 * @return 解析结果，属性不存在或无法解析时返回null
+	 */
+	@Nullable
+	private static Object parse(String key, Class<?> type) {
+		ResolvedProperty resolved = resolve(key);
+		String value = resolved.value;
+		if (value == null) {
+			return null;
+		}
+		Object parsed = resolved.parsed;
+		if (type.isInstance(parsed)) {
+			return parsed;
+		}
+		if (parsed == type) {
+			// 之前已经解析失败过
+			return null;
+		}
+		try {
+			String text = value.trim();
+			if (type == Integer.class) {
+				parsed = Integer.valueOf(text);
+			}
+			else if (type == Long.class) {
+				parsed = Long.valueOf(text);
+			}
+			else if (text.startsWith("P") || text.startsWith("p") || text.startsWith("-P")) {
+				parsed = Duration.parse(text);
+			}
+			else {
+				parsed = Duration.ofMillis(Long.parseLong(text));
+			}
+		}
+		catch (RuntimeException ex) {
+			if (logger.isInfoEnabled()) {
+				logger.info("could not parse property '" + key + "' as " + type.getSimpleName() + ": " + ex);
+			}
+			resolved.parsed = type;
+			return null;
+		}
+		resolved.parsed = parsed;
+		return parsed;
+	}
+
+
+	/**
+	 * 本地属性的不可变快照，以及基于它的解析结果缓存
+	 */
+	private static final class Snapshot {
+
+		final Map<String, String> localProperties;
+
+		final Map<String, ResolvedProperty> resolvedProperties = new ConcurrentHashMap<>(64);
+
+		/**
+		 * 缓存的不存在的key的数量
+		 */
+		final AtomicInteger cachedMisses = new AtomicInteger();
+
+		Snapshot(Map<String, String> localProperties) {
+			this.localProperties = localProperties;
+		}
+	}
+
+
+	/**
+	 * 单个key的解析结果，{@link #ABSENT}表示本地属性与JVM属性中都不存在
+	 * <p>{@link #ABSENT}由所有不存在的key共用，不会写入{@link #parsed}
+	 */
+	private static final class ResolvedProperty {
+
+		static final ResolvedProperty ABSENT = new ResolvedProperty(null);
+
+		@Nullable
+		final String value;
+
+		/**
+		 * 最近一次按类型解析的结果；解析失败时记录目标类型本身，避免重复解析
+		 */
+		@Nullable
+		volatile Object parsed;
+
+		ResolvedProperty(@Nullable String value) {
+			this.value = value;
+		}
+	}
+
+
+	/**
+	 * 属性变化的监听器
+	 */
+	@FunctionalInterface
+	public interface ChangeListener {
+
+		/**
+		 * 热加载后回调
+		 * @param changedKeys 新增、删除或值发生变化的key
+		 */
+		void propertiesChanged(Set<String> changedKeys);
 	}
 
 }
@@ -0,0 +1,232 @@
+package org.framework.core;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.framework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * {@link SpringProperties} 中 {@code spring.properties} 文件的热加载线程
+ *
+ * <p>文件系统中的文件所在目录注册到{@link WatchService}，文件变化时立即唤醒；
+ * 其余位置按间隔轮询。每次唤醒比较所有文件的修改时间及大小（jar中的文件以jar文件为准），
+ * 其余位置取{@link URLConnection}提供的修改时间及长度，取不到修改时间时比较内容的CRC32，
+ * 有变化时才重新解析
+ *
+ * @author dengweichang
+ * @see SpringProperties#startReloading
+ */
+final class SpringPropertiesReloader implements Runnable {
+
+	private static final Log logger = LogFactory.getLog(SpringPropertiesReloader.class);
+
+	/**
+	 * 无法读取的位置，变为可读或不可读时重新解析一次
+	 */
+	private static final long UNREADABLE_STAMP = -1;
+
+	private final long pollIntervalMillis;
+
+	private final Thread thread;
+
+	@Nullable
+	private WatchService watchService;
+
+	private final Set<Path> watchedDirectories = new HashSet<>();
+
+	/**
+	 * url -> 修改时间与大小的组合
+	 */
+	private Map<String, Long> stamps = new HashMap<>();
+
+	private volatile boolean running = true;
+
+	SpringPropertiesReloader(Duration pollInterval) {
+		this.pollIntervalMillis = pollInterval.toMillis();
+		this.thread = new Thread(this, "spring-properties-reloader");
+		this.thread.setDaemon(true);
+	}
+
+	void start() {
+		try {
+			this.watchService = FileSystems.getDefault().newWatchService();
+		} catch (IOException | UnsupportedOperationException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("WatchService not available, falling back to polling: " + ex);
+			}
+		}
+		this.stamps = collectStamps();
+		this.thread.start();
+	}
+
+	void stop() {
+		this.running = false;
+		this.thread.interrupt();
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (this.running) {
+				awaitChange();
+				if (!this.running) {
+					break;
+				}
+				Map<String, Long> current = collectStamps();
+				if (!current.equals(this.stamps)) {
+					this.stamps = current;
+					SpringProperties.reloadSourceIndex();
+				}
+			}
+		} catch (InterruptedException ex) {
+			// stopped
+		} finally {
+			closeWatchService();
+		}
+	}
+
+	private void awaitChange() throws InterruptedException {
+		WatchService watchService = this.watchService;
+		if (watchService == null) {
+			Thread.sleep(this.pollIntervalMillis);
+			return;
+		}
+		WatchKey key = watchService.poll(this.pollIntervalMillis, TimeUnit.MILLISECONDS);
+		while (key != null) {
+			key.pollEvents();
+			if (!key.reset()) {
+				this.watchedDirectories.remove((Path) key.watchable());
+			}
+			key = watchService.poll();
+		}
+	}
+
+	private Map<String, Long> collectStamps() {
+		Map<String, Long> stamps = new HashMap<>();
+		try {
+			Enumeration<URL> urls = SpringProperties.findPropertiesResources();
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				stamps.put(url.toExternalForm(), stamp(url));
+			}
+		} catch (IOException ex) {
+			if (logger.isInfoEnabled()) {
+				logger.info("could not check 'spring.properties' files for changes: " + ex);
+			}
+		}
+		return stamps;
+	}
+
+	private long stamp(URL url) {
+		try {
+			Path file = resolveFile(url);
+			if (file == null) {
+				return connectionStamp(url);
+			}
+			watch(file.getParent());
+			if (!Files.exists(file)) {
+				return 0;
+			}
+			return Files.getLastModifiedTime(file).toMillis() * 31 + Files.size(file);
+		} catch (Exception ex) {
+			return UNREADABLE_STAMP;
+		}
+	}
+
+	/**
+	 * 非本地文件的位置：优先使用修改时间与长度，取不到修改时间时读取全部内容计算CRC32
+	 */
+	private static long connectionStamp(URL url) throws IOException {
+		URLConnection connection = url.openConnection();
+		// 不使用缓存的jar文件等，否则看不到变化
+		connection.setUseCaches(false);
+		try {
+			long lastModified = connection.getLastModified();
+			if (lastModified > 0) {
+				return lastModified * 31 + connection.getContentLengthLong();
+			}
+			CRC32 crc = new CRC32();
+			byte[] buffer = new byte[4096];
+			try (InputStream is = connection.getInputStream()) {
+				int read;
+				while ((read = is.read(buffer)) != -1) {
+					crc.update(buffer, 0, read);
+				}
+			}
+			return crc.getValue();
+		} finally {
+			if (connection instanceof HttpURLConnection) {
+				((HttpURLConnection) connection).disconnect();
+			}
+		}
+	}
+
+	/**
+	 * 解析url对应的本地文件，jar中的文件返回jar文件本身
+	 */
+	@Nullable
+	private static Path resolveFile(URL url) throws Exception {
+		if ("file".equals(url.getProtocol())) {
+			return Paths.get(url.toURI());
+		}
+		if ("jar".equals(url.getProtocol())) {
+			URLConnection connection = url.openConnection();
+			if (connection instanceof JarURLConnection) {
+				// 只解析url，不会打开jar文件
+				URL jarFileUrl = ((JarURLConnection) connection).getJarFileURL();
+				if ("file".equals(jarFileUrl.getProtocol())) {
+					return Paths.get(jarFileUrl.toURI());
+				}
+			}
+		}
+		return null;
+	}
+
+	private void watch(@Nullable Path directory) {
+		WatchService watchService = this.watchService;
+		if (watchService == null || directory == null || this.watchedDirectories.contains(directory)) {
+			return;
+		}
+		try {
+			directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+			this.watchedDirectories.add(directory);
+		} catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("could not watch directory " + directory + ": " + ex);
+			}
+		}
+	}
+
+	private void closeWatchService() {
+		WatchService watchService = this.watchService;
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException ex) {
+				// ignore
+			}
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package org.framework.core;
+
+import org.framework.lang.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * {@link ParameterNamedDiscoverer}
+ *
+ * <p>通过JDK8的{@link Executable#getParameters()}获取参数名，
+ * 只有使用 {@code -parameters} 编译的类才能获取到真实的参数名
+ *
+ * @author dengweichang
+ * @see Parameter#isNamePresent()
+ */
+public class StandardReflectionParameterNameDiscoverer implements ParameterNamedDiscoverer {
+
+	@Override
+	@Nullable
+	public String[] getParameterNames(Method method) {
+		return getParameterNames(method.getParameters());
+	}
+
+	@Override
+	@Nullable
+	public String[] getParameterNames(Constructor<?> ctor) {
+		return getParameterNames(ctor.getParameters());
+	}
+
+	@Nullable
+	private String[] getParameterNames(Parameter[] parameters) {
+		String[] parameterNames = new String[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			Parameter param = parameters[i];
+			if (!param.isNamePresent()) {
+				return null;
+			}
+			parameterNames[i] = param.getName();
+		}
+		return parameterNames;
+	}
+}
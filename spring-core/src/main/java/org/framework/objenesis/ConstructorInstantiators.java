@@ -0,0 +1,163 @@
+package org.framework.objenesis;
+
+import org.framework.lang.Nullable;
+import org.objenesis.ObjenesisException;
+import org.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+/**
+ * 基于无参构造函数生成的实例化器，开启{@value SpringObjenesis#USE_CONSTRUCTOR_PROPERTY_NAME}后供{@link SpringObjenesis}优先使用
+ *
+ * <p>只处理public类的public无参构造函数：通过{@link LambdaMetafactory}生成{@link Supplier}，
+ * JIT之后与直接{@code new}的开销基本相同；生成的类无法解析到目标类时（不同的类加载器）使用{@link MethodHandle}调用。
+ * 没有无参构造函数，或者构造函数不是public（e.g. 工具类中抛出异常的私有构造函数）时返回null，
+ * 由{@link org.objenesis.strategy.InstantiatorStrategy}处理，不会通过{@code setAccessible}强行调用
+ *
+ * <p><b>NOTE:</b>与objenesis不同，这里会执行构造函数（包括字段初始化）
+ *
+ * @author dengweichang
+ */
+final class ConstructorInstantiators {
+
+	private static final MethodType SUPPLIER_FACTORY_TYPE = MethodType.methodType(Supplier.class);
+
+	private static final MethodType SUPPLIER_GET_TYPE = MethodType.methodType(Object.class);
+
+	private static final MethodType NO_ARG_CONSTRUCTOR_TYPE = MethodType.methodType(void.class);
+
+	private ConstructorInstantiators() {
+	}
+
+	/**
+	 * 为无参构造函数生成实例化器
+	 * @param clazz 需要实例化的类
+	 * @return 实例化器，没有可用的无参构造函数时返回null
+	 */
+	@Nullable
+	static <T> ObjectInstantiator<T> forClass(Class<T> clazz) {
+		if (clazz.isInterface() || clazz.isArray() || clazz.isPrimitive() || clazz.isEnum() ||
+				Modifier.isAbstract(clazz.getModifiers())) {
+			return null;
+		}
+		Constructor<T> ctor;
+		try {
+			ctor = clazz.getDeclaredConstructor();
+		}
+		catch (NoSuchMethodException | SecurityException | LinkageError ex) {
+			return null;
+		}
+		if (!isPublic(clazz) || !Modifier.isPublic(ctor.getModifiers())) {
+			return null;
+		}
+		if (isVisible(clazz)) {
+			ObjectInstantiator<T> instantiator = generateSupplier(clazz);
+			if (instantiator != null) {
+				return instantiator;
+			}
+		}
+		return unreflect(ctor);
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private static <T> ObjectInstantiator<T> generateSupplier(Class<T> clazz) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MethodHandle ctorHandle = lookup.findConstructor(clazz, NO_ARG_CONSTRUCTOR_TYPE);
+			CallSite site = LambdaMetafactory.metafactory(lookup, "get", SUPPLIER_FACTORY_TYPE,
+					SUPPLIER_GET_TYPE, ctorHandle, MethodType.methodType(clazz));
+			Supplier<T> supplier = (Supplier<T>) site.getTarget().invokeExact();
+			return new SupplierInstantiator<>(supplier);
+		}
+		catch (Throwable ex) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static <T> ObjectInstantiator<T> unreflect(Constructor<T> ctor) {
+		try {
+			MethodHandle handle = MethodHandles.lookup().unreflectConstructor(ctor).asType(SUPPLIER_GET_TYPE);
+			return new MethodHandleInstantiator<>(handle);
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			// e.g. 模块未开放
+			return null;
+		}
+	}
+
+	/**
+	 * 类及其所有外部类都是public
+	 */
+	private static boolean isPublic(Class<?> clazz) {
+		for (Class<?> current = clazz; current != null; current = current.getDeclaringClass()) {
+			if (!Modifier.isPublic(current.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 生成的类定义在当前类加载器中，需要能够通过类名解析到目标类
+	 */
+	private static boolean isVisible(Class<?> clazz) {
+		ClassLoader classLoader = ConstructorInstantiators.class.getClassLoader();
+		if (clazz.getClassLoader() == classLoader) {
+			return true;
+		}
+		try {
+			return (Class.forName(clazz.getName(), false, classLoader) == clazz);
+		}
+		catch (ClassNotFoundException | LinkageError ex) {
+			return false;
+		}
+	}
+
+
+	private static final class SupplierInstantiator<T> implements ObjectInstantiator<T> {
+
+		private final Supplier<T> supplier;
+
+		SupplierInstantiator(Supplier<T> supplier) {
+			this.supplier = supplier;
+		}
+
+		@Override
+		public T newInstance() {
+			return this.supplier.get();
+		}
+	}
+
+
+	private static final class MethodHandleInstantiator<T> implements ObjectInstantiator<T> {
+
+		private final MethodHandle handle;
+
+		MethodHandleInstantiator(MethodHandle handle) {
+			this.handle = handle;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T newInstance() {
+			try {
+				return (T) this.handle.invokeExact();
+			}
+			catch (RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new ObjenesisException(ex);
+			}
+		}
+	}
+}
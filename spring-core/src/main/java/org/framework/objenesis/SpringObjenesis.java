@@ -1,17 +1,38 @@
 package org.framework.objenesis;
 
+import org.framework.core.SpringProperties;
+import org.framework.util.ConcurrentReferenceHashMap;
 import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisException;
 import org.objenesis.instantiator.ObjectInstantiator;
 import org.objenesis.strategy.InstantiatorStrategy;
 import org.objenesis.strategy.StdInstantiatorStrategy;
 
-import java.util.Objects;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * {@link org.objenesis.ObjenesisStd} / {@link org.objenesis.ObjenesisBase}
  * 提供基于{@code Class}的缓存（不是类名）
  * 允许有选择的使用缓存
  *
+ * <p>缓存基于{@link ConcurrentReferenceHashMap}，entry被软引用持有，不会阻止类及其类加载器被回收；
+ * 命中缓存时{@link #newInstance}既不加锁也不分配额外对象
+ *
+ * <p>默认与objenesis相同，只使用{@link InstantiatorStrategy}，不执行构造函数。
+ * {@value #USE_CONSTRUCTOR_PROPERTY_NAME}为true并且使用标准策略时，有public无参构造函数的public类
+ * 改为使用{@link ConstructorInstantiators}生成的实例化器，<b>会执行构造函数</b>（包括字段初始化）；
+ * 指定了实例化策略时始终只使用该策略
+ *
+ * <p>{@value #IGNORE_OBJENESIS_PROPERTY_NAME}每次通过{@link SpringProperties}（带缓存）读取，运行期间修改同样生效；
+ * 实例化策略依赖的JVM内部类不存在等JVM不支持的情况只判断一次，之后全局禁用；
+ * 抽象类、接口以及实例化失败的类记录在负缓存中，之后直接抛出记录的异常，调用方可以通过{@link #isWorthTrying(Class)}直接回退到构造函数
+ *
  * @author dengweichang
  */
 public class SpringObjenesis implements Objenesis {
@@ -23,15 +44,37 @@ public class SpringObjenesis implements Objenesis {
 	 */
 	public static final String IGNORE_OBJENESIS_PROPERTY_NAME = "spring.objenesis.ignore";
 
+	/**
+	 * 为true时，有public无参构造函数的public类通过执行该构造函数实例化
+	 * <p>只对使用标准策略的{@link SpringObjenesis}生效，已缓存的实例化器不受影响
+	 */
+	public static final String USE_CONSTRUCTOR_PROPERTY_NAME = "spring.objenesis.use-constructor";
+
 	/**
 	 * 实例化策略
 	 * 选择JVM实现等（自己猜的 - -）
 	 */
 	private final InstantiatorStrategy strategy;
 
-//	private final ConcurrentRex
+	/**
+	 * 是否使用标准策略，只有此时才可能使用{@link ConstructorInstantiators}
+	 */
+	private final boolean standardStrategy;
+
+	/**
+	 * 按{@code Class}缓存的实例化器
+	 */
+	private final ConcurrentReferenceHashMap<Class<?>, ObjectInstantiator<?>> cache = new ConcurrentReferenceHashMap<>();
+
+	/**
+	 * 实例化失败的类 -> 失败时的异常，重复抛出同一个异常实例，避免每次构造异常的开销
+	 */
+	private final ConcurrentReferenceHashMap<Class<?>, ObjenesisException> failures = new ConcurrentReferenceHashMap<>();
 
-	private volatile Boolean worthTrying;
+	/**
+	 * null表示还没有使用过实例化策略，FALSE表示JVM不支持，整个JVM共用
+	 */
+	private static volatile Boolean worthTrying;
 
 	/**
 	 * 使用标准策略实例化
@@ -46,6 +89,7 @@ public class SpringObjenesis implements Objenesis {
 	 */
 	public SpringObjenesis(InstantiatorStrategy strategy) {
 		this.strategy = (strategy != null ? strategy : new StdInstantiatorStrategy());
+		this.standardStrategy = (strategy == null);
 	}
 
 	/**
@@ -55,16 +99,202 @@ public class SpringObjenesis implements Objenesis {
 	 * @return true/false
 	 */
 	public boolean isWorthTrying() {
-		return Objects.equals(this.worthTrying, Boolean.TRUE);
+		return (worthTrying != Boolean.FALSE && !SpringProperties.getFlat(IGNORE_OBJENESIS_PROPERTY_NAME));
+	}
+
+	/**
+	 * 指定的类是否存在尝试加载的价值
+	 * <p>已缓存实例化器的类返回true；之前实例化失败的类，或者全局不可用时返回false
+	 * @param clazz 需要实例化的类
+	 * @return true/false
+	 */
+	public boolean isWorthTrying(Class<?> clazz) {
+		if (this.cache.get(clazz) != null) {
+			return true;
+		}
+		return (!this.failures.containsKey(clazz) && isWorthTrying());
+	}
+
+	/**
+	 * 创建实例
+	 * @param clazz 需要实例化的类
+	 * @param useCache 是否使用缓存的实例化器，为false时每次都重新创建实例化器，也不会放入缓存
+	 * @return 新实例
+	 * @throws org.objenesis.ObjenesisException 实例化失败
+	 */
+	public <T> T newInstance(Class<T> clazz, boolean useCache) {
+		if (!useCache) {
+			return newInstantiatorOf(clazz).newInstance();
+		}
+		return getInstantiatorOf(clazz).newInstance();
 	}
 
 	@Override
-	public <T> T newInstance(Class<T> aClass) {
-		return null;
+	public <T> T newInstance(Class<T> clazz) {
+		return getInstantiatorOf(clazz).newInstance();
+	}
+
+	/**
+	 * 批量创建实例，只查找一次实例化器
+	 * @param clazz 需要实例化的类
+	 * @param count 实例个数
+	 * @return 新实例
+	 * @throws ObjenesisException 实例化失败
+	 */
+	public <T> List<T> newInstances(Class<T> clazz, int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Count must not be negative");
+		}
+		ObjectInstantiator<T> instantiator = getInstantiatorOf(clazz);
+		List<T> instances = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			instances.add(instantiator.newInstance());
+		}
+		return instances;
+	}
+
+	/**
+	 * 在{@link ForkJoinPool#commonPool()}中并行创建并缓存实例化器
+	 * @param classes 需要预热的类
+	 * @return 成功缓存实例化器的类的个数
+	 * @see #prewarm(Collection, Executor)
+	 */
+	public CompletableFuture<Integer> prewarm(Collection<Class<?>> classes) {
+		return prewarm(classes, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * 并行创建并缓存实例化器，用于启动时预热大量代理类
+	 * <p>无法实例化的类记录在负缓存中；单个类抛出的任何{@link RuntimeException}或{@link LinkageError}
+	 * （e.g. 缺少依赖导致的{@link NoClassDefFoundError}）都只使该类不计入结果，不影响其余的类
+	 * @param classes 需要预热的类
+	 * @param executor 执行预热的线程池
+	 * @return 成功缓存实例化器的类的个数
+	 */
+	public CompletableFuture<Integer> prewarm(Collection<Class<?>> classes, Executor executor) {
+		List<CompletableFuture<Boolean>> futures = new ArrayList<>(classes.size());
+		for (Class<?> clazz : classes) {
+			futures.add(CompletableFuture.supplyAsync(() -> {
+				try {
+					getInstantiatorOf(clazz);
+					return true;
+				}
+				catch (RuntimeException | LinkageError ex) {
+					return false;
+				}
+			}, executor));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(result -> {
+			int count = 0;
+			for (CompletableFuture<Boolean> future : futures) {
+				if (future.join()) {
+					count++;
+				}
+			}
+			return count;
+		});
 	}
 
 	@Override
-	public <T> ObjectInstantiator<T> getInstantiatorOf(Class<T> aClass) {
-		return null;
+	@SuppressWarnings("unchecked")
+	public <T> ObjectInstantiator<T> getInstantiatorOf(Class<T> clazz) {
+		ObjectInstantiator<?> instantiator = this.cache.get(clazz);
+		if (instantiator == null) {
+			ObjectInstantiator<T> newInstantiator = newInstantiatorOf(clazz);
+			instantiator = this.cache.putIfAbsent(clazz, newInstantiator);
+			if (instantiator == null) {
+				instantiator = newInstantiator;
+			}
+		}
+		return (ObjectInstantiator<T>) instantiator;
+	}
+
+	/**
+	 * 创建新的实例化器，开启{@value #USE_CONSTRUCTOR_PROPERTY_NAME}时优先使用无参构造函数生成的实例化器，否则使用实例化策略
+	 * @param clazz 需要实例化的类
+	 * @return 实例化器
+	 * @throws ObjenesisException 无法实例化，之前失败过的类直接抛出记录的异常
+	 */
+	protected <T> ObjectInstantiator<T> newInstantiatorOf(Class<T> clazz) {
+		ObjenesisException failure = this.failures.get(clazz);
+		if (failure != null) {
+			throw failure;
+		}
+		if (clazz.isInterface() || clazz.isArray() || clazz.isPrimitive() || Modifier.isAbstract(clazz.getModifiers())) {
+			// 类本身无法实例化，与JVM是否支持实例化策略无关
+			throw recordFailure(clazz, new ObjenesisException(new InstantiationException(clazz.getName())));
+		}
+		ObjectInstantiator<T> instantiator;
+		if (this.standardStrategy && SpringProperties.getFlat(USE_CONSTRUCTOR_PROPERTY_NAME)) {
+			instantiator = ConstructorInstantiators.forClass(clazz);
+			if (instantiator != null) {
+				return instantiator;
+			}
+		}
+		if (SpringProperties.getFlat(IGNORE_OBJENESIS_PROPERTY_NAME)) {
+			// 属性可能在运行期间被清除，不记录在负缓存中
+			throw new ObjenesisException("Objenesis is ignored through '" + IGNORE_OBJENESIS_PROPERTY_NAME + "'");
+		}
+		Boolean currentWorthTrying = worthTrying;
+		if (currentWorthTrying == Boolean.FALSE) {
+			throw recordFailure(clazz, new ObjenesisException("Objenesis is not worth trying in this JVM"));
+		}
+		try {
+			instantiator = this.strategy.newInstantiatorOf(clazz);
+			if (currentWorthTrying == null) {
+				worthTrying = Boolean.TRUE;
+			}
+			return new StrategyInstantiator<>(clazz, instantiator);
+		}
+		catch (ObjenesisException ex) {
+			if (currentWorthTrying == null) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof ClassNotFoundException || cause instanceof IllegalAccessException) {
+					// 实例化策略依赖的JVM内部类不存在或者不可访问
+					worthTrying = Boolean.FALSE;
+				}
+			}
+			throw recordFailure(clazz, ex);
+		}
+		catch (NoClassDefFoundError err) {
+			if (currentWorthTrying == null) {
+				worthTrying = Boolean.FALSE;
+			}
+			throw recordFailure(clazz, new ObjenesisException(err));
+		}
+	}
+
+	private ObjenesisException recordFailure(Class<?> clazz, ObjenesisException ex) {
+		ObjenesisException existing = this.failures.putIfAbsent(clazz, ex);
+		return (existing != null ? existing : ex);
+	}
+
+
+	/**
+	 * 实例化策略创建的实例化器，出现{@link InstantiationError}时记录该类的失败并移出缓存
+	 * <p>只影响该类，不会全局禁用实例化策略
+	 */
+	private final class StrategyInstantiator<T> implements ObjectInstantiator<T> {
+
+		private final Class<T> clazz;
+
+		private final ObjectInstantiator<T> delegate;
+
+		StrategyInstantiator(Class<T> clazz, ObjectInstantiator<T> delegate) {
+			this.clazz = clazz;
+			this.delegate = delegate;
+		}
+
+		@Override
+		public T newInstance() {
+			try {
+				return this.delegate.newInstance();
+			}
+			catch (InstantiationError err) {
+				ObjenesisException ex = recordFailure(this.clazz, new ObjenesisException(err));
+				cache.remove(this.clazz, this);
+				throw ex;
+			}
+		}
 	}
 }
@@ -0,0 +1,73 @@
+package org.framework.util;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+
+/**
+ * 以数组内容作为key的包装类
+ *
+ * <p>内容hash只在构造时计算一次并缓存，之后每次hash查找（例如{@link ConcurrentReferenceHashMap}的探测）
+ * 不再扫描整个数组
+ * <p>equals先比较缓存的hash及数组长度，都一致时才比较数组内容；
+ * 基本类型数组交给{@link java.util.Arrays#equals}，在JDK 9+上由向量化的mismatch实现，
+ * 嵌套的{@code Object[]}按内容比较（{@link ObjectUtils#deepNullSafeEquals}）
+ *
+ * <p><b>NOTE:</b>包装后不能再修改数组内容，否则缓存的hash会失效
+ *
+ * @author dengweichang
+ * @see ObjectUtils#nullSafeEquals
+ */
+public final class ArrayKey implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Object array;
+
+	private final int length;
+
+	private final int hash;
+
+	/**
+	 * 构造
+	 * @param array 作为key的数组（任意基本类型或引用类型数组）
+	 * @throws IllegalArgumentException 参数不是数组时
+	 */
+	public ArrayKey(Object array) {
+		if (array == null || !array.getClass().isArray()) {
+			throw new IllegalArgumentException("ArrayKey requires an array: " + array);
+		}
+		this.array = array;
+		this.length = Array.getLength(array);
+		this.hash = ObjectUtils.deepNullSafeHashCode(array);
+	}
+
+	/**
+	 * 返回被包装的数组
+	 */
+	public Object getArray() {
+		return this.array;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof ArrayKey)) {
+			return false;
+		}
+		ArrayKey otherKey = (ArrayKey) other;
+		return (this.hash == otherKey.hash && this.length == otherKey.length &&
+				ObjectUtils.deepNullSafeEquals(this.array, otherKey.array));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hash;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" + this.array.getClass().getSimpleName() + ", length=" + this.length + "]";
+	}
+}
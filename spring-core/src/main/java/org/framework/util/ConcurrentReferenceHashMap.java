@@ -36,6 +36,11 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 */
 	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
 
+	/**
+	 * 默认的并发级别
+	 */
+	private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
 	/**
 	 * 默认引用类型
 	 * <p>软引用
@@ -68,6 +73,40 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 
 	private volatile Set<Map.Entry<K, V>> entrySet;
 
+	/**
+	 * 使用默认参数构造
+	 */
+	public ConcurrentReferenceHashMap() {
+		this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, DEFAULT_REFERENCE_TYPE);
+	}
+
+	/**
+	 * 构造
+	 * @param initialCapacity 初始容量
+	 */
+	public ConcurrentReferenceHashMap(int initialCapacity) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, DEFAULT_REFERENCE_TYPE);
+	}
+
+	/**
+	 * 构造
+	 * @param initialCapacity 初始容量
+	 * @param referenceType 引用类型
+	 */
+	public ConcurrentReferenceHashMap(int initialCapacity, ReferenceType referenceType) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, referenceType);
+	}
+
+	/**
+	 * 构造
+	 * @param initialCapacity 初始容量
+	 * @param loadFactor 加载因子
+	 * @param concurrencyLevel 预计并发数
+	 */
+	public ConcurrentReferenceHashMap(int initialCapacity, float loadFactor, int concurrencyLevel) {
+		this(initialCapacity, loadFactor, concurrencyLevel, DEFAULT_REFERENCE_TYPE);
+	}
+
 	/**
 	 * 构造
 	 * @param initialCapacity 初始容量
@@ -78,7 +117,18 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	@SuppressWarnings("unchecked")
 	public ConcurrentReferenceHashMap(
 			int initialCapacity, float loadFactor, int concurrencyLevel, ReferenceType referenceType) {
-		// TODO assert
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Initial capacity must not be negative");
+		}
+		if (loadFactor <= 0f) {
+			throw new IllegalArgumentException("Load factor must be positive");
+		}
+		if (concurrencyLevel <= 0) {
+			throw new IllegalArgumentException("Concurrency level must be positive");
+		}
+		if (referenceType == null) {
+			throw new IllegalArgumentException("Reference type must not be null");
+		}
 		this.loadFactor = loadFactor;
 		//在期望并发数与最大并发数之间取一个二次方的值的进位量（以1为基准）
 		this.shift = calculateShift(concurrencyLevel, MAX_CONCURRENCY_LEVEL);
@@ -394,17 +444,20 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 					while (ref != null) {
 						if (!toPurge.contains(ref)) {
 							Entry<K, V> entry = ref.get();
-							int index = getIndex(ref.getHash(), restructured);
-							restructured[index] = this.referenceManager.createReference(entry, ref.getHash(), restructured[index]);
+							// 已被GC回收但还未进入队列的引用直接丢弃
+							if (entry != null) {
+								int index = getIndex(ref.getHash(), restructured);
+								restructured[index] = this.referenceManager.createReference(entry, ref.getHash(), restructured[index]);
+							}
 						}
 						ref = ref.getNext();
 					}
-					if (resizing) {
-						this.references = restructured;
-						this.resizeThreshold = (int) (this.references.length * getLoadFactor());
-					}
-					this.count.set(Math.max(countAfterRestructure, 0));
 				}
+				if (resizing) {
+					this.references = restructured;
+					this.resizeThreshold = (int) (this.references.length * getLoadFactor());
+				}
+				this.count.set(Math.max(countAfterRestructure, 0));
 			}
 			finally {
 				unlock();
@@ -412,6 +465,44 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		}
 
 
+		/**
+		 * 在分段锁内执行任务
+		 * @param hash key的hash
+		 * @param key key
+		 * @param task 任务
+		 * @return 任务结果
+		 */
+		@Nullable
+		public <T> T doTask(final int hash, @Nullable final Object key, final Task<T> task) {
+			boolean resize = task.hasOption(TaskOption.RESIZE);
+			if (task.hasOption(TaskOption.RESTRUCTURE_BEFORE)) {
+				restructureIfNecessary(resize);
+			}
+			if (task.hasOption(TaskOption.SKIP_IF_EMPTY) && this.count.get() == 0) {
+				return task.execute(null, null, null);
+			}
+			lock();
+			try {
+				final int index = getIndex(hash, this.references);
+				final Reference<K, V> head = this.references[index];
+				Reference<K, V> ref = findInChain(head, key, hash);
+				Entry<K, V> entry = (ref != null ? ref.get() : null);
+				Entries<V> entries = value -> {
+					Entry<K, V> newEntry = new Entry<>((K) key, value);
+					Reference<K, V> newReference = this.referenceManager.createReference(newEntry, hash, head);
+					this.references[index] = newReference;
+					this.count.incrementAndGet();
+				};
+				return task.execute(ref, entry, entries);
+			}
+			finally {
+				unlock();
+				if (task.hasOption(TaskOption.RESTRUCTURE_AFTER)) {
+					restructureIfNecessary(resize);
+				}
+			}
+		}
+
 		@Nullable
 		private Reference<K, V> findInChain(Reference<K, V> ref, @Nullable Object key, int hash) {
 			Reference<K, V> currRef = ref;
@@ -453,89 +544,389 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		return new Reference[size];
 	}
 
-
-
-
-
-	@Override
-	public V putIfAbsent(K key, V value) {
-		return null;
+	/**
+	 * 打散hash，使高位参与分段的选择
+	 * @param o 对象，可以为null
+	 * @return hash
+	 */
+	protected int getHash(@Nullable Object o) {
+		int hash = (o != null ? o.hashCode() : 0);
+		hash += (hash << 15) ^ 0xffffcd7d;
+		hash ^= (hash >>> 10);
+		hash += (hash << 3);
+		hash ^= (hash >>> 6);
+		hash += (hash << 2) + (hash << 14);
+		hash ^= (hash >>> 16);
+		return hash;
 	}
 
+	/**
+	 * 无锁查找，不会分配对象；只有引用队列中有待清理的引用时才会加锁清理
+	 */
 	@Override
-	public boolean remove(Object key, Object value) {
-		return false;
+	@Nullable
+	public V get(@Nullable Object key) {
+		Reference<K, V> ref = getReference(key, Restructure.WHEN_NECESSARY);
+		Entry<K, V> entry = (ref != null ? ref.get() : null);
+		return (entry != null ? entry.getValue() : null);
 	}
 
 	@Override
-	public boolean replace(K key, V oldValue, V newValue) {
-		return false;
+	@Nullable
+	public V getOrDefault(@Nullable Object key, @Nullable V defaultValue) {
+		Reference<K, V> ref = getReference(key, Restructure.WHEN_NECESSARY);
+		Entry<K, V> entry = (ref != null ? ref.get() : null);
+		return (entry != null ? entry.getValue() : defaultValue);
 	}
 
 	@Override
-	public V replace(K key, V value) {
-		return null;
+	public boolean containsKey(@Nullable Object key) {
+		Reference<K, V> ref = getReference(key, Restructure.WHEN_NECESSARY);
+		Entry<K, V> entry = (ref != null ? ref.get() : null);
+		return (entry != null && ObjectUtils.nullSafeEquals(entry.getKey(), key));
 	}
 
-	@Override
-	public int size() {
-		return 0;
+	@Nullable
+	private Reference<K, V> getReference(@Nullable Object key, Restructure restructure) {
+		int hash = getHash(key);
+		return getSegmentForHash(hash).getReference(key, hash, restructure);
 	}
 
 	@Override
-	public boolean isEmpty() {
-		return false;
+	@Nullable
+	public V put(@Nullable K key, @Nullable V value) {
+		return put(key, value, true);
 	}
 
 	@Override
-	public boolean containsKey(Object key) {
-		return false;
+	@Nullable
+	public V putIfAbsent(@Nullable K key, @Nullable V value) {
+		return put(key, value, false);
 	}
 
-	@Override
-	public boolean containsValue(Object value) {
-		return false;
+	@Nullable
+	private V put(@Nullable final K key, @Nullable final V value, final boolean overwriteExisting) {
+		return doTask(key, new Task<V>(TaskOption.RESTRUCTURE_BEFORE, TaskOption.RESIZE) {
+			@Override
+			@Nullable
+			protected V execute(@Nullable Reference<K, V> ref, @Nullable Entry<K, V> entry, @Nullable Entries<V> entries) {
+				if (entry != null) {
+					V oldValue = entry.getValue();
+					if (overwriteExisting) {
+						entry.setValue(value);
+					}
+					return oldValue;
+				}
+				if (entries == null) {
+					throw new IllegalStateException("No entries segment");
+				}
+				entries.add(value);
+				return null;
+			}
+		});
 	}
 
 	@Override
-	public V get(Object key) {
-		return null;
+	@Nullable
+	public V remove(Object key) {
+		return doTask(key, new Task<V>(TaskOption.RESTRUCTURE_AFTER, TaskOption.SKIP_IF_EMPTY) {
+			@Override
+			@Nullable
+			protected V execute(@Nullable Reference<K, V> ref, @Nullable Entry<K, V> entry) {
+				if (entry != null) {
+					if (ref != null) {
+						ref.release();
+					}
+					return entry.value;
+				}
+				return null;
+			}
+		});
 	}
 
 	@Override
-	public V put(K key, V value) {
-		return null;
+	public boolean remove(Object key, final Object value) {
+		Boolean result = doTask(key, new Task<Boolean>(TaskOption.RESTRUCTURE_AFTER, TaskOption.SKIP_IF_EMPTY) {
+			@Override
+			protected Boolean execute(@Nullable Reference<K, V> ref, @Nullable Entry<K, V> entry) {
+				if (entry != null && ObjectUtils.nullSafeEquals(entry.getValue(), value)) {
+					if (ref != null) {
+						ref.release();
+					}
+					return true;
+				}
+				return false;
+			}
+		});
+		return Boolean.TRUE.equals(result);
 	}
 
 	@Override
-	public V remove(Object key) {
-		return null;
+	public boolean replace(K key, final V oldValue, final V newValue) {
+		Boolean result = doTask(key, new Task<Boolean>(TaskOption.RESTRUCTURE_BEFORE, TaskOption.SKIP_IF_EMPTY) {
+			@Override
+			protected Boolean execute(@Nullable Reference<K, V> ref, @Nullable Entry<K, V> entry) {
+				if (entry != null && ObjectUtils.nullSafeEquals(entry.getValue(), oldValue)) {
+					entry.setValue(newValue);
+					return true;
+				}
+				return false;
+			}
+		});
+		return Boolean.TRUE.equals(result);
 	}
 
 	@Override
-	public void putAll(Map<? extends K, ? extends V> m) {
-
+	@Nullable
+	public V replace(K key, final V value) {
+		return doTask(key, new Task<V>(TaskOption.RESTRUCTURE_BEFORE, TaskOption.SKIP_IF_EMPTY) {
+			@Override
+			@Nullable
+			protected V execute(@Nullable Reference<K, V> ref, @Nullable Entry<K, V> entry) {
+				if (entry != null) {
+					V oldValue = entry.getValue();
+					entry.setValue(value);
+					return oldValue;
+				}
+				return null;
+			}
+		});
 	}
 
 	@Override
 	public void clear() {
+		for (Segment segment : this.segments) {
+			segment.clear();
+		}
+	}
 
+	/**
+	 * 清理已被GC回收的entries，通常会在put/remove时自动清理
+	 */
+	public void purgeUnreferencedEntries() {
+		for (Segment segment : this.segments) {
+			segment.restructureIfNecessary(false);
+		}
 	}
 
 	@Override
-	public Set<K> keySet() {
-		return null;
+	public int size() {
+		int size = 0;
+		for (Segment segment : this.segments) {
+			size += segment.getCount();
+		}
+		return size;
 	}
 
 	@Override
-	public Collection<V> values() {
-		return null;
+	public boolean isEmpty() {
+		for (Segment segment : this.segments) {
+			if (segment.getCount() > 0) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
 	public Set<Map.Entry<K, V>> entrySet() {
-		return null;
+		Set<Map.Entry<K, V>> entrySet = this.entrySet;
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+			this.entrySet = entrySet;
+		}
+		return entrySet;
 	}
 
+	@Nullable
+	private <T> T doTask(@Nullable Object key, Task<T> task) {
+		int hash = getHash(key);
+		return getSegmentForHash(hash).doTask(hash, key, task);
+	}
 
+	private Segment getSegmentForHash(int hash) {
+		return this.segments[(hash >>> (32 - this.shift)) & (this.segments.length - 1)];
+	}
+
+
+	/**
+	 * 在分段锁内执行的任务
+	 * @param <T> 任务结果类型
+	 */
+	private abstract class Task<T> {
+
+		private final EnumSet<TaskOption> options;
+
+		public Task(TaskOption... options) {
+			this.options = (options.length == 0 ? EnumSet.noneOf(TaskOption.class) : EnumSet.of(options[0], options));
+		}
+
+		public boolean hasOption(TaskOption option) {
+			return this.options.contains(option);
+		}
+
+		/**
+		 * 执行任务
+		 * @param ref 找到的引用，不存在时为null
+		 * @param entry 找到的entry，不存在时为null
+		 * @param entries 用于添加新entry
+		 * @return 任务结果
+		 */
+		@Nullable
+		protected T execute(@Nullable Reference<K, V> ref, @Nullable Entry<K, V> entry, @Nullable Entries<V> entries) {
+			return execute(ref, entry);
+		}
+
+		@Nullable
+		protected T execute(@Nullable Reference<K, V> ref, @Nullable Entry<K, V> entry) {
+			return null;
+		}
+	}
+
+
+	/**
+	 * 任务选项
+	 */
+	private enum TaskOption {
+
+		RESTRUCTURE_BEFORE, RESTRUCTURE_AFTER, SKIP_IF_EMPTY, RESIZE
+	}
+
+
+	/**
+	 * 向分段中添加新entry
+	 */
+	private interface Entries<V> {
+
+		void add(@Nullable V value);
+	}
+
+
+	private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public boolean contains(@Nullable Object o) {
+			if (o instanceof Map.Entry<?, ?>) {
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+				Reference<K, V> ref = ConcurrentReferenceHashMap.this.getReference(entry.getKey(), Restructure.NEVER);
+				Entry<K, V> otherEntry = (ref != null ? ref.get() : null);
+				if (otherEntry != null) {
+					return ObjectUtils.nullSafeEquals(entry.getValue(), otherEntry.getValue());
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if (o instanceof Map.Entry<?, ?>) {
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+				return ConcurrentReferenceHashMap.this.remove(entry.getKey(), entry.getValue());
+			}
+			return false;
+		}
+
+		@Override
+		public int size() {
+			return ConcurrentReferenceHashMap.this.size();
+		}
+
+		@Override
+		public void clear() {
+			ConcurrentReferenceHashMap.this.clear();
+		}
+	}
+
+
+	/**
+	 * 依次遍历所有分段，跳过已被GC回收的entries
+	 */
+	private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+		private int segmentIndex;
+
+		private int referenceIndex;
+
+		@Nullable
+		private Reference<K, V>[] references;
+
+		@Nullable
+		private Reference<K, V> reference;
+
+		@Nullable
+		private Entry<K, V> next;
+
+		@Nullable
+		private Entry<K, V> last;
+
+		public EntryIterator() {
+			moveToNextSegment();
+		}
+
+		@Override
+		public boolean hasNext() {
+			getNextIfNecessary();
+			return (this.next != null);
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			getNextIfNecessary();
+			if (this.next == null) {
+				throw new NoSuchElementException();
+			}
+			this.last = this.next;
+			this.next = null;
+			return this.last;
+		}
+
+		private void getNextIfNecessary() {
+			while (this.next == null) {
+				moveToNextReference();
+				if (this.reference == null) {
+					return;
+				}
+				this.next = this.reference.get();
+			}
+		}
+
+		private void moveToNextReference() {
+			if (this.reference != null) {
+				this.reference = this.reference.getNext();
+			}
+			while (this.reference == null && this.references != null) {
+				if (this.referenceIndex >= this.references.length) {
+					moveToNextSegment();
+					this.referenceIndex = 0;
+				}
+				else {
+					this.reference = this.references[this.referenceIndex];
+					this.referenceIndex++;
+				}
+			}
+		}
+
+		private void moveToNextSegment() {
+			this.reference = null;
+			this.references = null;
+			if (this.segmentIndex < ConcurrentReferenceHashMap.this.segments.length) {
+				this.references = ConcurrentReferenceHashMap.this.segments[this.segmentIndex].references;
+				this.segmentIndex++;
+			}
+		}
+
+		@Override
+		public void remove() {
+			if (this.last == null) {
+				throw new IllegalStateException("No element to remove");
+			}
+			ConcurrentReferenceHashMap.this.remove(this.last.getKey());
+			this.last = null;
+		}
+	}
 }
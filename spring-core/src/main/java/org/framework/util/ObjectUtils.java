@@ -2,6 +2,8 @@ package org.framework.util;
 
 import org.framework.lang.Nullable;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 
 /**
@@ -17,6 +19,20 @@ public class ObjectUtils {
 
 	private static final int MULTIPLIER = 31;
 
+	private static final int MULTIPLIER_POW_2 = MULTIPLIER * MULTIPLIER;
+
+	private static final int MULTIPLIER_POW_3 = MULTIPLIER_POW_2 * MULTIPLIER;
+
+	private static final int MULTIPLIER_POW_4 = MULTIPLIER_POW_3 * MULTIPLIER;
+
+	private static final int MULTIPLIER_POW_5 = MULTIPLIER_POW_4 * MULTIPLIER;
+
+	private static final int MULTIPLIER_POW_6 = MULTIPLIER_POW_5 * MULTIPLIER;
+
+	private static final int MULTIPLIER_POW_7 = MULTIPLIER_POW_6 * MULTIPLIER;
+
+	private static final int MULTIPLIER_POW_8 = MULTIPLIER_POW_7 * MULTIPLIER;
+
 	/**
 	 * 空值安全的equals
 	 * @param o1 first compare
@@ -33,10 +49,10 @@ public class ObjectUtils {
 		if (o1.equals(o2)) {
 			return true;
 		}
-        if (o1.getClass().isArray() && o2.getClass().isArray()) {
-        	return arrayEquals(o1, o2);
+		if (o1.getClass().isArray() && o2.getClass().isArray()) {
+			return arrayEquals(o1, o2);
 		}
-        return false;
+		return false;
 	}
 
 	/**
@@ -115,6 +131,114 @@ public class ObjectUtils {
 		return obj.hashCode();
 	}
 
+	/**
+	 * 空值安全的深度equals
+	 * <p>与{@link #nullSafeEquals}不同，嵌套的{@code Object[]}按内容而不是按引用比较，
+	 * 与{@link #nullSafeHashCode(Object[])}的语义保持一致
+	 * <p>使用显式的栈迭代遍历，嵌套层级再深也不会栈溢出；平铺的数组不会产生任何分配
+	 * <p><b>NOTE:</b>数组直接或间接包含自身时不会终止
+	 * @param o1 first compare
+	 * @param o2 second compare
+	 * @return true/false
+	 */
+	public static boolean deepNullSafeEquals(@Nullable Object o1, @Nullable Object o2) {
+		if (o1 instanceof Object[] && o2 instanceof Object[]) {
+			return deepArrayEquals((Object[]) o1, (Object[]) o2);
+		}
+		return nullSafeEquals(o1, o2);
+	}
+
+	/**
+	 * 空值安全的深度hash
+	 * <p>结果与{@link #nullSafeHashCode(Object)}相同，但嵌套数组通过显式的栈迭代计算
+	 * <p><b>NOTE:</b>数组直接或间接包含自身时不会终止
+	 * @param obj 计算hash的对象
+	 * @return hash
+	 */
+	public static int deepNullSafeHashCode(@Nullable Object obj) {
+		if (obj instanceof Object[]) {
+			return deepArrayHashCode((Object[]) obj);
+		}
+		return nullSafeHashCode(obj);
+	}
+
+	private static boolean deepArrayEquals(Object[] array1, Object[] array2) {
+		if (array1.length != array2.length) {
+			return false;
+		}
+		ArrayWalkStack stack = null;
+		int index = 0;
+		while (true) {
+			if (index < array1.length) {
+				Object e1 = array1[index];
+				Object e2 = array2[index];
+				index++;
+				if (e1 == e2) {
+					continue;
+				}
+				if (e1 instanceof Object[] && e2 instanceof Object[]) {
+					Object[] nested1 = (Object[]) e1;
+					Object[] nested2 = (Object[]) e2;
+					if (nested1.length != nested2.length) {
+						return false;
+					}
+					if (stack == null) {
+						stack = new ArrayWalkStack();
+					}
+					stack.push(array1, array2, index, 0);
+					array1 = nested1;
+					array2 = nested2;
+					index = 0;
+				}
+				else if (!nullSafeEquals(e1, e2)) {
+					return false;
+				}
+			}
+			else {
+				if (stack == null || stack.isEmpty()) {
+					return true;
+				}
+				stack.pop();
+				array1 = stack.array1;
+				array2 = stack.array2;
+				index = stack.index;
+			}
+		}
+	}
+
+	private static int deepArrayHashCode(Object[] array) {
+		ArrayWalkStack stack = null;
+		int index = 0;
+		int hash = INITIAL_HASH;
+		while (true) {
+			if (index < array.length) {
+				Object element = array[index++];
+				if (element instanceof Object[]) {
+					if (stack == null) {
+						stack = new ArrayWalkStack();
+					}
+					stack.push(array, null, index, hash);
+					array = (Object[]) element;
+					index = 0;
+					hash = INITIAL_HASH;
+				}
+				else {
+					hash = MULTIPLIER * hash + nullSafeHashCode(element);
+				}
+			}
+			else {
+				if (stack == null || stack.isEmpty()) {
+					return hash;
+				}
+				int nestedHash = hash;
+				stack.pop();
+				array = stack.array1;
+				index = stack.index;
+				hash = MULTIPLIER * stack.hash + nestedHash;
+			}
+		}
+	}
+
 	/**
 	 * Return a hash code based on the contents of the specified array.
 	 * If {@code array} is {@code null}, this method returns 0.
@@ -249,4 +373,212 @@ public class ObjectUtils {
 		}
 		return hash;
 	}
+
+	/**
+	 * 空值安全的按内容比较，比较两个buffer剩余（position到limit）的内容
+	 * <p>独立命名而不是重载{@link #nullSafeEquals(Object, Object)}，避免结果随参数的静态类型变化
+	 * <p>支持heap及direct buffer，不拷贝数据，两个buffer字节序相同时按long批量比较；
+	 * 不会修改buffer的position
+	 * @param buffer1 first compare
+	 * @param buffer2 second compare
+	 * @return true/false
+	 */
+	public static boolean contentEquals(@Nullable ByteBuffer buffer1, @Nullable ByteBuffer buffer2) {
+		if (buffer1 == buffer2) {
+			return true;
+		}
+		if (buffer1 == null || buffer2 == null) {
+			return false;
+		}
+		int length = buffer1.remaining();
+		if (length != buffer2.remaining()) {
+			return false;
+		}
+		int index1 = buffer1.position();
+		int index2 = buffer2.position();
+		int end = index1 + length;
+		if (buffer1.order() == buffer2.order()) {
+			for (; index1 <= end - Long.BYTES; index1 += Long.BYTES, index2 += Long.BYTES) {
+				if (buffer1.getLong(index1) != buffer2.getLong(index2)) {
+					return false;
+				}
+			}
+		}
+		for (; index1 < end; index1++, index2++) {
+			if (buffer1.get(index1) != buffer2.get(index2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 空值安全的按内容比较
+	 * <p><b>NOTE:</b>与{@link #nullSafeEquals(Object, Object)}不同，
+	 * 不同实现的{@code CharSequence}（例如{@code String}与{@code StringBuilder}）内容相同即相等
+	 * @param cs1 first compare
+	 * @param cs2 second compare
+	 * @return true/false
+	 */
+	public static boolean contentEquals(@Nullable CharSequence cs1, @Nullable CharSequence cs2) {
+		if (cs1 == cs2) {
+			return true;
+		}
+		if (cs1 == null || cs2 == null) {
+			return false;
+		}
+		if (cs1 instanceof String && cs2 instanceof String) {
+			return cs1.equals(cs2);
+		}
+		int length = cs1.length();
+		if (length != cs2.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (cs1.charAt(i) != cs2.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 根据buffer剩余（position到limit）的内容计算hash，与{@link #contentEquals(ByteBuffer, ByteBuffer)}一致
+	 * <p>结果与对剩余字节组成的{@code byte[]}调用{@link #nullSafeHashCode(byte[])}相同，
+	 * 而不是{@link ByteBuffer#hashCode()}；
+	 * 支持heap及direct buffer，按long批量读取，不拷贝数据，不会修改buffer的position
+	 * If {@code buffer} is {@code null}, this method returns 0.
+	 */
+	public static int contentHashCode(@Nullable ByteBuffer buffer) {
+		if (buffer == null) {
+			return 0;
+		}
+		int hash = INITIAL_HASH;
+		int index = buffer.position();
+		int limit = buffer.limit();
+		boolean bigEndian = (buffer.order() == ByteOrder.BIG_ENDIAN);
+		for (; index <= limit - Long.BYTES; index += Long.BYTES) {
+			long word = buffer.getLong(index);
+			if (!bigEndian) {
+				word = Long.reverseBytes(word);
+			}
+			hash = MULTIPLIER_POW_8 * hash +
+					MULTIPLIER_POW_7 * (byte) (word >>> 56) +
+					MULTIPLIER_POW_6 * (byte) (word >>> 48) +
+					MULTIPLIER_POW_5 * (byte) (word >>> 40) +
+					MULTIPLIER_POW_4 * (byte) (word >>> 32) +
+					MULTIPLIER_POW_3 * (byte) (word >>> 24) +
+					MULTIPLIER_POW_2 * (byte) (word >>> 16) +
+					MULTIPLIER * (byte) (word >>> 8) +
+					(byte) word;
+		}
+		for (; index < limit; index++) {
+			hash = MULTIPLIER * hash + buffer.get(index);
+		}
+		return hash;
+	}
+
+	/**
+	 * 根据字符内容计算hash，与{@link #contentEquals(CharSequence, CharSequence)}一致
+	 * <p>结果与对相同字符组成的{@code char[]}调用{@link #nullSafeHashCode(char[])}相同，
+	 * 而不是{@link String#hashCode()}；
+	 * {@code String}直接复用其缓存的{@link String#hashCode()}，不再扫描字符
+	 * If {@code chars} is {@code null}, this method returns 0.
+	 */
+	public static int contentHashCode(@Nullable CharSequence chars) {
+		if (chars == null) {
+			return 0;
+		}
+		int length = chars.length();
+		if (chars instanceof String) {
+			// INITIAL_HASH * 31^n + s[0] * 31^(n-1) + ... + s[n-1]
+			return INITIAL_HASH * multiplierPow(length) + chars.hashCode();
+		}
+		int hash = INITIAL_HASH;
+		int index = 0;
+		for (; index <= length - 4; index += 4) {
+			hash = MULTIPLIER_POW_4 * hash +
+					MULTIPLIER_POW_3 * chars.charAt(index) +
+					MULTIPLIER_POW_2 * chars.charAt(index + 1) +
+					MULTIPLIER * chars.charAt(index + 2) +
+					chars.charAt(index + 3);
+		}
+		for (; index < length; index++) {
+			hash = MULTIPLIER * hash + chars.charAt(index);
+		}
+		return hash;
+	}
+
+	/**
+	 * {@code MULTIPLIER}的n次方（int溢出语义）
+	 */
+	private static int multiplierPow(int n) {
+		int result = 1;
+		int base = MULTIPLIER;
+		while (n > 0) {
+			if ((n & 1) != 0) {
+				result *= base;
+			}
+			base *= base;
+			n >>>= 1;
+		}
+		return result;
+	}
+
+	/**
+	 * 深度遍历嵌套数组时使用的显式栈
+	 * <p>只在遇到嵌套的{@code Object[]}时才会创建
+	 */
+	private static final class ArrayWalkStack {
+
+		private Object[][] arrays1 = new Object[8][];
+
+		private Object[][] arrays2 = new Object[8][];
+
+		private int[] indexes = new int[8];
+
+		private int[] hashes = new int[8];
+
+		private int size;
+
+		/**
+		 * 最近一次{@link #pop()}出栈的状态
+		 */
+		Object[] array1;
+
+		Object[] array2;
+
+		int index;
+
+		int hash;
+
+		void push(Object[] array1, @Nullable Object[] array2, int index, int hash) {
+			if (this.size == this.indexes.length) {
+				int newLength = this.size << 1;
+				this.arrays1 = Arrays.copyOf(this.arrays1, newLength);
+				this.arrays2 = Arrays.copyOf(this.arrays2, newLength);
+				this.indexes = Arrays.copyOf(this.indexes, newLength);
+				this.hashes = Arrays.copyOf(this.hashes, newLength);
+			}
+			this.arrays1[this.size] = array1;
+			this.arrays2[this.size] = array2;
+			this.indexes[this.size] = index;
+			this.hashes[this.size] = hash;
+			this.size++;
+		}
+
+		void pop() {
+			this.size--;
+			this.array1 = this.arrays1[this.size];
+			this.array2 = this.arrays2[this.size];
+			this.index = this.indexes[this.size];
+			this.hash = this.hashes[this.size];
+			this.arrays1[this.size] = null;
+			this.arrays2[this.size] = null;
+		}
+
+		boolean isEmpty() {
+			return this.size == 0;
+		}
+	}
 }
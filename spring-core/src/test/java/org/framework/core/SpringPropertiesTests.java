@@ -0,0 +1,249 @@
+package org.framework.core;
+
+import org.apache.commons.logging.LogFactory;
+import org.framework.util.ObjectUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SpringProperties}的快照、分层索引及热加载的测试，直接运行main方法，失败时抛出{@link AssertionError}
+ *
+ * <p>{@link SpringProperties}的状态是静态的，并且从自身的ClassLoader查找{@code spring.properties}，
+ * 因此在一个独立的{@link IsolatedClassLoader}中加载，通过反射调用。classpath中有两个{@code spring.properties}：
+ * 临时目录中的文件，以及一个不提供修改时间的内存中的位置（对应jar、http等非本地文件）
+ *
+ * @author dengweichang
+ */
+public class SpringPropertiesTests {
+
+	private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+	private static final long TIMEOUT_MILLIS = 5000;
+
+	public static void main(String[] args) throws Exception {
+		Path directory = Files.createTempDirectory("spring-properties-tests");
+		Path file = directory.resolve("spring.properties");
+		write(file, "first=file\nshared=file\nspring.test.system=file\n");
+		MemoryHandler memory = new MemoryHandler("second=memory\nshared=memory\n");
+		try (IsolatedClassLoader loader = new IsolatedClassLoader(directory, memory)) {
+			Class<?> properties = loader.loadClass(SpringProperties.class.getName());
+			SpringPropertiesTests tests = new SpringPropertiesTests(properties);
+			tests.layeredIndex();
+			tests.snapshot();
+			tests.reload(file, memory);
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(directory);
+		}
+		System.out.println("SpringPropertiesTests: all passed");
+	}
+
+	private final Class<?> properties;
+
+	private SpringPropertiesTests(Class<?> properties) {
+		this.properties = properties;
+	}
+
+	private void layeredIndex() throws Exception {
+		assertEquals("file", getProperty("first"), "key from directory");
+		assertEquals("memory", getProperty("second"), "key from memory location");
+		assertEquals("file", getProperty("shared"), "first location on the classpath wins");
+
+		System.setProperty("spring.test.system", "system");
+		try {
+			assertEquals("system", getProperty("spring.test.system"), "JVM property beats file");
+		} finally {
+			System.clearProperty("spring.test.system");
+		}
+		invoke("refreshSystemProperties");
+		assertEquals("file", getProperty("spring.test.system"), "file after JVM property cleared");
+
+		invoke("setProperty", "shared", "local");
+		assertEquals("local", getProperty("shared"), "local property beats file");
+		invoke("setProperty", "shared", null);
+		assertEquals("file", getProperty("shared"), "file after local property removed");
+
+		String path = System.getenv("PATH");
+		if (path != null) {
+			assertEquals(path, getProperty("path"), "environment variable by relaxed name");
+		}
+	}
+
+	private void snapshot() throws Exception {
+		invoke("setProperty", "spring.test.int", " 42 ");
+		assertEquals(42, invoke("getInt", "spring.test.int", -1), "int parsed");
+		invoke("setProperty", "spring.test.int", "x");
+		assertEquals(-1, invoke("getInt", "spring.test.int", -1), "default for unparsable int");
+		invoke("setProperty", "spring.test.duration", "PT2S");
+		assertEquals(Duration.ofSeconds(2), invoke("getDuration", "spring.test.duration", null), "ISO duration");
+		invoke("setProperty", "spring.test.duration", "1500");
+		assertEquals(Duration.ofMillis(1500), invoke("getDuration", "spring.test.duration", null),
+				"duration in millis");
+		invoke("setFlag", "spring.test.flag");
+		assertEquals(true, invoke("getFlat", "spring.test.flag"), "flag set");
+		assertEquals(false, invoke("getFlat", "spring.test.absent"), "absent flag");
+
+		// 不存在的key同样被缓存，之后设置的JVM属性要在refreshSystemProperties之后才可见
+		assertEquals(null, getProperty("spring.test.late"), "absent before System.setProperty");
+		System.setProperty("spring.test.late", "late");
+		try {
+			assertEquals(null, getProperty("spring.test.late"), "cached miss until refresh");
+			invoke("refreshSystemProperties");
+			assertEquals("late", getProperty("spring.test.late"), "visible after refresh");
+		} finally {
+			System.clearProperty("spring.test.late");
+			invoke("refreshSystemProperties");
+		}
+	}
+
+	private void reload(Path file, MemoryHandler memory) throws Exception {
+		BlockingQueue<Set<?>> changes = new LinkedBlockingQueue<>();
+		Class<?> listenerType = Class.forName(SpringProperties.ChangeListener.class.getName(), true,
+				this.properties.getClassLoader());
+		Object listener = Proxy.newProxyInstance(listenerType.getClassLoader(), new Class<?>[] {listenerType},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "equals":
+							return proxy == args[0];
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "toString":
+							return "test listener";
+					}
+					changes.add((Set<?>) args[0]);
+					return null;
+				});
+		invoke("addChangeListener", listener);
+		invoke("startReloading", POLL_INTERVAL);
+		try {
+			// 内容没有变化时不重新解析，也就不会替换快照：缓存的不存在的key保持不可见
+			assertEquals(null, getProperty("spring.test.stable"), "absent before polls");
+			System.setProperty("spring.test.stable", "stable");
+			try {
+				Thread.sleep(POLL_INTERVAL.toMillis() * 6);
+				assertEquals(null, getProperty("spring.test.stable"), "snapshot kept while nothing changes");
+			} finally {
+				System.clearProperty("spring.test.stable");
+			}
+
+			write(file, "first=changed\nshared=file\nspring.test.system=file\n");
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+			assertEquals(Collections.singleton("first"), changes.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS),
+					"changed keys of directory file");
+			assertEquals("changed", getProperty("first"), "reloaded value of directory file");
+
+			memory.content = "second=reloaded\nshared=memory\n";
+			assertEquals(Collections.singleton("second"), changes.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS),
+					"changed keys of memory location");
+			assertEquals("reloaded", getProperty("second"), "reloaded value of memory location");
+			assertEquals("file", getProperty("shared"), "precedence kept after reload");
+
+			Thread.sleep(POLL_INTERVAL.toMillis() * 6);
+			assertEquals(null, changes.poll(), "no notification without changes");
+		} finally {
+			invoke("stopReloading");
+			invoke("removeChangeListener", listener);
+		}
+	}
+
+	private Object getProperty(String key) throws Exception {
+		return invoke("getProperty", key);
+	}
+
+	private Object invoke(String name, Object... args) throws Exception {
+		for (Method method : this.properties.getMethods()) {
+			if (method.getName().equals(name) && method.getParameterCount() == args.length) {
+				return method.invoke(null, args);
+			}
+		}
+		throw new NoSuchMethodException(name);
+	}
+
+	private static void write(Path file, String content) throws IOException {
+		Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	private static void assertEquals(Object expected, Object actual, String message) {
+		if (!ObjectUtils.nullSafeEquals(expected, actual)) {
+			throw new AssertionError(message + ": expected <" + expected + "> but was <" + actual + ">");
+		}
+	}
+
+
+	/**
+	 * 只包含spring-core、spring-jcl以及测试目录的ClassLoader，在目录之后追加内存中的{@code spring.properties}
+	 */
+	private static final class IsolatedClassLoader extends URLClassLoader {
+
+		private final URL memoryUrl;
+
+		IsolatedClassLoader(Path directory, MemoryHandler memory) throws IOException {
+			super(new URL[] {directory.toUri().toURL(), location(SpringProperties.class), location(LogFactory.class)},
+					null);
+			this.memoryUrl = new URL("memory", null, -1, "/spring.properties", memory);
+		}
+
+		private static URL location(Class<?> type) {
+			return type.getProtectionDomain().getCodeSource().getLocation();
+		}
+
+		@Override
+		public Enumeration<URL> findResources(String name) throws IOException {
+			Enumeration<URL> urls = super.findResources(name);
+			if (!"spring.properties".equals(name)) {
+				return urls;
+			}
+			List<URL> result = new ArrayList<>(Collections.list(urls));
+			result.add(this.memoryUrl);
+			return Collections.enumeration(result);
+		}
+	}
+
+
+	/**
+	 * 内存中的位置，与http等协议一样可能不提供修改时间
+	 */
+	private static final class MemoryHandler extends URLStreamHandler {
+
+		volatile String content;
+
+		MemoryHandler(String content) {
+			this.content = content;
+		}
+
+		@Override
+		protected URLConnection openConnection(URL url) {
+			return new URLConnection(url) {
+				@Override
+				public void connect() {
+				}
+
+				@Override
+				public InputStream getInputStream() {
+					return new ByteArrayInputStream(content.getBytes(StandardCharsets.ISO_8859_1));
+				}
+			};
+		}
+	}
+}
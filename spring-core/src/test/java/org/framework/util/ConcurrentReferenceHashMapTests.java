@@ -0,0 +1,235 @@
+package org.framework.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ConcurrentReferenceHashMap}的测试，直接运行main方法，失败时抛出{@link AssertionError}
+ *
+ * @author dengweichang
+ */
+public class ConcurrentReferenceHashMapTests {
+
+	public static void main(String[] args) throws Exception {
+		putAndGet();
+		nullKeyAndValue();
+		putIfAbsent();
+		remove();
+		replace();
+		resize();
+		collidingKeys();
+		arrayKeys();
+		entrySetIterator();
+		concurrentPutIfAbsent();
+		purgeWeakEntries();
+		System.out.println("ConcurrentReferenceHashMapTests: all passed");
+	}
+
+	private static void putAndGet() {
+		ConcurrentReferenceHashMap<String, Integer> map = new ConcurrentReferenceHashMap<>();
+		assertTrue(map.isEmpty(), "new map is empty");
+		assertEquals(null, map.put("a", 1), "first put returns null");
+		assertEquals(1, map.put("a", 2), "second put returns previous value");
+		assertEquals(2, map.get("a"), "get returns latest value");
+		assertEquals(null, map.get("b"), "missing key");
+		assertEquals(3, map.getOrDefault("b", 3), "getOrDefault for missing key");
+		assertTrue(map.containsKey("a"), "containsKey");
+		assertTrue(!map.containsKey("b"), "!containsKey");
+		assertEquals(1, map.size(), "size");
+	}
+
+	private static void nullKeyAndValue() {
+		ConcurrentReferenceHashMap<String, String> map = new ConcurrentReferenceHashMap<>();
+		map.put(null, "n");
+		map.put("k", null);
+		assertEquals("n", map.get(null), "null key");
+		assertTrue(map.containsKey("k"), "key with null value is present");
+		assertEquals(null, map.get("k"), "null value");
+		assertEquals(2, map.size(), "size with null key/value");
+	}
+
+	private static void putIfAbsent() {
+		ConcurrentReferenceHashMap<String, Integer> map = new ConcurrentReferenceHashMap<>();
+		assertEquals(null, map.putIfAbsent("a", 1), "putIfAbsent on missing key");
+		assertEquals(1, map.putIfAbsent("a", 2), "putIfAbsent returns existing value");
+		assertEquals(1, map.get("a"), "putIfAbsent does not overwrite");
+	}
+
+	private static void remove() {
+		ConcurrentReferenceHashMap<String, Integer> map = new ConcurrentReferenceHashMap<>();
+		map.put("a", 1);
+		map.put("b", 2);
+		assertEquals(1, map.remove("a"), "remove returns value");
+		assertEquals(null, map.remove("a"), "remove missing key");
+		assertTrue(!map.remove("b", 3), "conditional remove with other value");
+		assertTrue(map.remove("b", 2), "conditional remove with current value");
+		assertTrue(map.isEmpty(), "empty after removes");
+	}
+
+	private static void replace() {
+		ConcurrentReferenceHashMap<String, Integer> map = new ConcurrentReferenceHashMap<>();
+		assertEquals(null, map.replace("a", 1), "replace missing key");
+		assertTrue(!map.containsKey("a"), "replace does not insert");
+		map.put("a", 1);
+		assertEquals(1, map.replace("a", 2), "replace returns previous value");
+		assertTrue(!map.replace("a", 1, 3), "conditional replace with other value");
+		assertTrue(map.replace("a", 2, 3), "conditional replace with current value");
+		assertEquals(3, map.get("a"), "value after replace");
+	}
+
+	private static void resize() {
+		ConcurrentReferenceHashMap<Integer, Integer> map = new ConcurrentReferenceHashMap<>(4);
+		for (int i = 0; i < 10000; i++) {
+			map.put(i, i * 2);
+		}
+		assertEquals(10000, map.size(), "size after resize");
+		for (int i = 0; i < 10000; i++) {
+			assertEquals(i * 2, map.get(i), "value after resize");
+		}
+		for (int i = 0; i < 10000; i += 2) {
+			map.remove(i);
+		}
+		assertEquals(5000, map.size(), "size after removing half");
+		map.clear();
+		assertTrue(map.isEmpty(), "empty after clear");
+	}
+
+	private static void collidingKeys() {
+		ConcurrentReferenceHashMap<CollidingKey, String> map = new ConcurrentReferenceHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			map.put(new CollidingKey(i), "v" + i);
+		}
+		assertEquals(100, map.size(), "colliding keys are kept apart");
+		for (int i = 0; i < 100; i++) {
+			assertEquals("v" + i, map.get(new CollidingKey(i)), "colliding key lookup");
+		}
+		map.remove(new CollidingKey(50));
+		assertEquals(null, map.get(new CollidingKey(50)), "removed colliding key");
+		assertEquals("v51", map.get(new CollidingKey(51)), "neighbour of removed colliding key");
+	}
+
+	private static void arrayKeys() {
+		// 与ConcurrentHashMap相同，数组按引用作为key
+		ConcurrentReferenceHashMap<Object, String> map = new ConcurrentReferenceHashMap<>();
+		int[] ints = {1, 2, 3};
+		map.put(ints, "ints");
+		assertEquals("ints", map.get(ints), "same array instance");
+		assertEquals(null, map.get(new int[] {1, 2, 3}), "other array instance");
+		map.put(new ArrayKey(new int[] {1, 2, 3}), "key");
+		assertEquals("key", map.get(new ArrayKey(new int[] {1, 2, 3})), "ArrayKey compares by content");
+	}
+
+	private static void entrySetIterator() {
+		ConcurrentReferenceHashMap<Integer, Integer> map = new ConcurrentReferenceHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			map.put(i, i);
+		}
+		int count = 0;
+		int sum = 0;
+		for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+			assertEquals(entry.getKey(), entry.getValue(), "entry key/value");
+			count++;
+			sum += entry.getKey();
+		}
+		assertEquals(100, count, "iterated entries");
+		assertEquals(4950, sum, "each entry iterated once");
+		Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().getKey() % 2 == 0) {
+				iterator.remove();
+			}
+		}
+		assertEquals(50, map.size(), "size after iterator remove");
+		assertEquals(null, map.get(2), "entry removed through iterator");
+		assertEquals(3, map.get(3), "entry kept by iterator");
+		for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+			entry.setValue(-1);
+		}
+		assertEquals(-1, map.get(3), "setValue writes through");
+	}
+
+	private static void concurrentPutIfAbsent() throws InterruptedException {
+		ConcurrentReferenceHashMap<Integer, Integer> map = new ConcurrentReferenceHashMap<>();
+		int threads = 4;
+		AtomicInteger inserted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			int id = t;
+			Thread worker = new Thread(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < 20000; i++) {
+					if (map.putIfAbsent(i, id) == null) {
+						inserted.incrementAndGet();
+					}
+				}
+			});
+			worker.start();
+			workers.add(worker);
+		}
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		assertEquals(20000, inserted.get(), "each key inserted by exactly one thread");
+		assertEquals(20000, map.size(), "size after concurrent inserts");
+	}
+
+	private static void purgeWeakEntries() throws InterruptedException {
+		ConcurrentReferenceHashMap<Integer, Object> map =
+				new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.WEAK);
+		for (int i = 0; i < 1000; i++) {
+			map.put(i, new Object());
+		}
+		for (int attempt = 0; attempt < 20 && map.size() > 0; attempt++) {
+			System.gc();
+			Thread.sleep(10);
+			map.purgeUnreferencedEntries();
+		}
+		assertEquals(0, map.size(), "weak entries purged after gc");
+		map.put(1, "again");
+		assertEquals("again", map.get(1), "map usable after purge");
+	}
+
+	private static void assertTrue(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+
+	private static void assertEquals(Object expected, Object actual, String message) {
+		if (!ObjectUtils.nullSafeEquals(expected, actual)) {
+			throw new AssertionError(message + ": expected <" + expected + "> but was <" + actual + ">");
+		}
+	}
+
+
+	private static final class CollidingKey {
+
+		private final int id;
+
+		CollidingKey(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return (other instanceof CollidingKey && ((CollidingKey) other).id == this.id);
+		}
+
+		@Override
+		public int hashCode() {
+			return 42;
+		}
+	}
+}
@@ -0,0 +1,261 @@
+package org.framework.util;
+
+import java.util.Arrays;
+
+/**
+ * {@link ObjectUtils#nullSafeHashCode(Object)} / {@link ObjectUtils#nullSafeEquals}的instanceof链
+ * 与按数组class（{@link ClassValue}）分发的耗时对比，直接运行main方法；两种实现结果不一致时抛出{@link AssertionError}
+ *
+ * <p>没有JMH，因此只是简单的计时循环：每组先预热，再取多轮中最快的一轮；结果只作为参考
+ * <ul>
+ *     <li>非数组：两种实现都只有一次{@code isArray()}判断</li>
+ *     <li>单一数组类型：instanceof链在{@code Object[]}时最快，在{@code short[]}（链的末尾）时最慢</li>
+ *     <li>混合数组类型：instanceof链的平均位置</li>
+ * </ul>
+ * <p>在HotSpot上instanceof判断只是一次类型指针比较，链的末尾也不比{@link ClassValue#get}的查找慢，
+ * 而equals还要多一次查找，因此{@link ObjectUtils}保留instanceof链；更换JVM或修改实现后可以用这里重新测量
+ *
+ * @author dengweichang
+ */
+public class ObjectUtilsDispatchBenchmark {
+
+	private static final int ROUNDS = 10;
+
+	private static final int OPERATIONS = 2_000_000;
+
+	private static int sink;
+
+	public static void main(String[] args) {
+		Object[] strings = new Object[64];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = "value" + i;
+		}
+		Object[] objectArrays = fill(new Object[] {"a", "b", "c", "d"});
+		Object[] shortArrays = fill(new short[] {1, 2, 3, 4});
+		Object[] mixedArrays = new Object[64];
+		Object[] samples = {new Object[] {"a", "b"}, new boolean[] {true, false}, new byte[] {1, 2},
+				new char[] {'a', 'b'}, new double[] {1, 2}, new float[] {1, 2}, new int[] {1, 2},
+				new long[] {1, 2}, new short[] {1, 2}};
+		for (int i = 0; i < mixedArrays.length; i++) {
+			mixedArrays[i] = samples[i % samples.length];
+		}
+
+		compare("non-array", strings);
+		compare("Object[]", objectArrays);
+		compare("short[]", shortArrays);
+		compare("mixed arrays", mixedArrays);
+	}
+
+	private static Object[] fill(Object sample) {
+		Object[] values = new Object[64];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = sample;
+		}
+		return values;
+	}
+
+	private static void compare(String name, Object[] values) {
+		Object[] copies = new Object[values.length];
+		for (int i = 0; i < values.length; i++) {
+			copies[i] = copy(values[i]);
+			if (classValueHashCode(values[i]) != ObjectUtils.nullSafeHashCode(values[i]) ||
+					classValueEquals(values[i], copies[i]) != ObjectUtils.nullSafeEquals(values[i], copies[i])) {
+				throw new AssertionError(name + ": ClassValue dispatch differs for " + values[i]);
+			}
+		}
+		double classValueHash = best(() -> {
+			int hash = 0;
+			for (int i = 0; i < OPERATIONS; i++) {
+				hash += classValueHashCode(values[i & 63]);
+			}
+			sink += hash;
+		});
+		double instanceofHash = best(() -> {
+			int hash = 0;
+			for (int i = 0; i < OPERATIONS; i++) {
+				hash += ObjectUtils.nullSafeHashCode(values[i & 63]);
+			}
+			sink += hash;
+		});
+		double classValueEquals = best(() -> {
+			int count = 0;
+			for (int i = 0; i < OPERATIONS; i++) {
+				if (classValueEquals(values[i & 63], copies[i & 63])) {
+					count++;
+				}
+			}
+			sink += count;
+		});
+		double instanceofEquals = best(() -> {
+			int count = 0;
+			for (int i = 0; i < OPERATIONS; i++) {
+				if (ObjectUtils.nullSafeEquals(values[i & 63], copies[i & 63])) {
+					count++;
+				}
+			}
+			sink += count;
+		});
+		System.out.printf("%-14s hash: instanceof %6.2f ns/op, ClassValue %6.2f ns/op | " +
+						"equals: instanceof %6.2f ns/op, ClassValue %6.2f ns/op%n",
+				name, instanceofHash, classValueHash, instanceofEquals, classValueEquals);
+	}
+
+	private static double best(Runnable loop) {
+		for (int i = 0; i < ROUNDS; i++) {
+			loop.run();
+		}
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			loop.run();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return (double) best / OPERATIONS;
+	}
+
+	private static Object copy(Object value) {
+		if (value instanceof Object[]) {
+			return ((Object[]) value).clone();
+		}
+		if (value instanceof boolean[]) {
+			return ((boolean[]) value).clone();
+		}
+		if (value instanceof byte[]) {
+			return ((byte[]) value).clone();
+		}
+		if (value instanceof char[]) {
+			return ((char[]) value).clone();
+		}
+		if (value instanceof double[]) {
+			return ((double[]) value).clone();
+		}
+		if (value instanceof float[]) {
+			return ((float[]) value).clone();
+		}
+		if (value instanceof int[]) {
+			return ((int[]) value).clone();
+		}
+		if (value instanceof long[]) {
+			return ((long[]) value).clone();
+		}
+		if (value instanceof short[]) {
+			return ((short[]) value).clone();
+		}
+		return new String((String) value);
+	}
+
+	private static final ClassValue<ArrayType> ARRAY_TYPES = new ClassValue<ArrayType>() {
+		@Override
+		protected ArrayType computeValue(Class<?> type) {
+			return ArrayType.of(type.getComponentType());
+		}
+	};
+
+	private static int classValueHashCode(Object obj) {
+		if (obj == null) {
+			return 0;
+		}
+		Class<?> type = obj.getClass();
+		if (!type.isArray()) {
+			return obj.hashCode();
+		}
+		switch (ARRAY_TYPES.get(type)) {
+			case OBJECT:
+				return ObjectUtils.nullSafeHashCode((Object[]) obj);
+			case BOOLEAN:
+				return ObjectUtils.nullSafeHashCode((boolean[]) obj);
+			case BYTE:
+				return ObjectUtils.nullSafeHashCode((byte[]) obj);
+			case CHAR:
+				return ObjectUtils.nullSafeHashCode((char[]) obj);
+			case DOUBLE:
+				return ObjectUtils.nullSafeHashCode((double[]) obj);
+			case FLOAT:
+				return ObjectUtils.nullSafeHashCode((float[]) obj);
+			case INT:
+				return ObjectUtils.nullSafeHashCode((int[]) obj);
+			case LONG:
+				return ObjectUtils.nullSafeHashCode((long[]) obj);
+			default:
+				return ObjectUtils.nullSafeHashCode((short[]) obj);
+		}
+	}
+
+	private static boolean classValueEquals(Object o1, Object o2) {
+		if (o1 == o2) {
+			return true;
+		}
+		if (o1 == null || o2 == null) {
+			return false;
+		}
+		if (o1.equals(o2)) {
+			return true;
+		}
+		Class<?> type1 = o1.getClass();
+		Class<?> type2 = o2.getClass();
+		if (!type1.isArray() || !type2.isArray()) {
+			return false;
+		}
+		ArrayType arrayType = ARRAY_TYPES.get(type1);
+		if (type1 != type2 && arrayType != ARRAY_TYPES.get(type2)) {
+			return false;
+		}
+		switch (arrayType) {
+			case OBJECT:
+				return Arrays.equals((Object[]) o1, (Object[]) o2);
+			case BOOLEAN:
+				return Arrays.equals((boolean[]) o1, (boolean[]) o2);
+			case BYTE:
+				return Arrays.equals((byte[]) o1, (byte[]) o2);
+			case CHAR:
+				return Arrays.equals((char[]) o1, (char[]) o2);
+			case DOUBLE:
+				return Arrays.equals((double[]) o1, (double[]) o2);
+			case FLOAT:
+				return Arrays.equals((float[]) o1, (float[]) o2);
+			case INT:
+				return Arrays.equals((int[]) o1, (int[]) o2);
+			case LONG:
+				return Arrays.equals((long[]) o1, (long[]) o2);
+			default:
+				return Arrays.equals((short[]) o1, (short[]) o2);
+		}
+	}
+
+
+	/**
+	 * 数组元素类型，所有引用类型的数组都归为{@link #OBJECT}
+	 */
+	private enum ArrayType {
+
+		OBJECT, BOOLEAN, BYTE, CHAR, DOUBLE, FLOAT, INT, LONG, SHORT;
+
+		static ArrayType of(Class<?> componentType) {
+			if (!componentType.isPrimitive()) {
+				return OBJECT;
+			}
+			if (componentType == boolean.class) {
+				return BOOLEAN;
+			}
+			if (componentType == byte.class) {
+				return BYTE;
+			}
+			if (componentType == char.class) {
+				return CHAR;
+			}
+			if (componentType == double.class) {
+				return DOUBLE;
+			}
+			if (componentType == float.class) {
+				return FLOAT;
+			}
+			if (componentType == int.class) {
+				return INT;
+			}
+			if (componentType == long.class) {
+				return LONG;
+			}
+			return SHORT;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package org.apache.commons.logging;
+
+import java.io.Serializable;
+
+/**
+ * 异步日志，级别检查在调用线程中同步进行，开启的日志交给{@link AsyncLogDispatcher}在后台线程中记录
+ *
+ * <p>非{@link String}的消息在调用线程中先转换为字符串，避免后台线程读到被修改的可变对象；
+ * 参数化及{@link java.util.function.Supplier}方法使用{@link Log}的默认实现，同样在调用线程中格式化。
+ * 位置信息（调用方的类及方法）由后台线程推断，不再准确
+ *
+ * <p>可以序列化（底层log可以序列化时），反序列化后使用当前JVM的分发器重新包装
+ *
+ * @author dengweichang
+ */
+final class AsyncLog implements Log, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Log target;
+
+	private final transient AsyncLogDispatcher dispatcher;
+
+	AsyncLog(Log target, AsyncLogDispatcher dispatcher) {
+		this.target = target;
+		this.dispatcher = dispatcher;
+	}
+
+	@Override
+	public boolean isFatalEnabled() {
+		return this.target.isFatalEnabled();
+	}
+
+	@Override
+	public boolean isErrorEnabled() {
+		return this.target.isErrorEnabled();
+	}
+
+	@Override
+	public boolean isWarnEnabled() {
+		return this.target.isWarnEnabled();
+	}
+
+	@Override
+	public boolean isInfoEnabled() {
+		return this.target.isInfoEnabled();
+	}
+
+	@Override
+	public boolean isDebugEnabled() {
+		return this.target.isDebugEnabled();
+	}
+
+	@Override
+	public boolean isTraceEnabled() {
+		return this.target.isTraceEnabled();
+	}
+
+	@Override
+	public void fatal(Object message) {
+		if (this.target.isFatalEnabled()) {
+			publish(AsyncLogDispatcher.FATAL, message, null);
+		}
+	}
+
+	@Override
+	public void fatal(Object message, Throwable t) {
+		if (this.target.isFatalEnabled()) {
+			publish(AsyncLogDispatcher.FATAL, message, t);
+		}
+	}
+
+	@Override
+	public void error(Object message) {
+		if (this.target.isErrorEnabled()) {
+			publish(AsyncLogDispatcher.ERROR, message, null);
+		}
+	}
+
+	@Override
+	public void error(Object message, Throwable t) {
+		if (this.target.isErrorEnabled()) {
+			publish(AsyncLogDispatcher.ERROR, message, t);
+		}
+	}
+
+	@Override
+	public void warn(Object message) {
+		if (this.target.isWarnEnabled()) {
+			publish(AsyncLogDispatcher.WARN, message, null);
+		}
+	}
+
+	@Override
+	public void warn(Object message, Throwable t) {
+		if (this.target.isWarnEnabled()) {
+			publish(AsyncLogDispatcher.WARN, message, t);
+		}
+	}
+
+	@Override
+	public void info(Object message) {
+		if (this.target.isInfoEnabled()) {
+			publish(AsyncLogDispatcher.INFO, message, null);
+		}
+	}
+
+	@Override
+	public void info(Object message, Throwable t) {
+		if (this.target.isInfoEnabled()) {
+			publish(AsyncLogDispatcher.INFO, message, t);
+		}
+	}
+
+	@Override
+	public void debug(Object message) {
+		if (this.target.isDebugEnabled()) {
+			publish(AsyncLogDispatcher.DEBUG, message, null);
+		}
+	}
+
+	@Override
+	public void debug(Object message, Throwable t) {
+		if (this.target.isDebugEnabled()) {
+			publish(AsyncLogDispatcher.DEBUG, message, t);
+		}
+	}
+
+	@Override
+	public void trace(Object message) {
+		if (this.target.isTraceEnabled()) {
+			publish(AsyncLogDispatcher.TRACE, message, null);
+		}
+	}
+
+	@Override
+	public void trace(Object message, Throwable t) {
+		if (this.target.isTraceEnabled()) {
+			publish(AsyncLogDispatcher.TRACE, message, t);
+		}
+	}
+
+	private void publish(int level, Object message, Throwable t) {
+		Object snapshot = (message instanceof String ? message : String.valueOf(message));
+		this.dispatcher.publish(this.target, level, snapshot, t);
+	}
+
+	/**
+	 * 反序列化后使用当前JVM的分发器重新包装
+	 */
+	private Object readResolve() {
+		return new AsyncLog(this.target, AsyncLogDispatcher.getInstance());
+	}
+}
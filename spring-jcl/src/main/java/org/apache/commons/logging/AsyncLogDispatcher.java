@@ -0,0 +1,415 @@
+package org.apache.commons.logging;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步日志的分发器
+ *
+ * <p>多生产者单消费者的有界环形缓冲区，事件对象启动时一次性分配并循环使用；
+ * 每个槽位带有序号，生产者通过CAS竞争写入位置，无锁。唯一的消费者线程批量取出事件并交给底层日志实现
+ *
+ * <p>缓冲区满时的处理由{@link FullPolicy}决定：
+ * <ul>
+ *     <li>{@link FullPolicy#BLOCK} 等待空闲槽位，不丢失日志</li>
+ *     <li>{@link FullPolicy#DROP} 丢弃info及以下级别的日志，warn及以上仍然等待</li>
+ *     <li>{@link FullPolicy#SAMPLE} 与DROP相同，但每{@code sampleRate}条会被丢弃的日志中保留一条</li>
+ * </ul>
+ * 丢弃的日志数可以通过{@link LogFactory#getDroppedAsyncLogCount()}获取，JVM关闭时不为0则输出到{@code System.err}
+ *
+ * <p>底层日志实现抛出的{@link RuntimeException}及{@link LinkageError}被忽略，第一次出现时输出到{@code System.err}；
+ * 其余的{@link Error}（e.g. {@link OutOfMemoryError}）终止消费者线程，之后的日志改为在调用线程中同步记录
+ *
+ * @author dengweichang
+ * @see AsyncLog
+ */
+final class AsyncLogDispatcher implements Runnable {
+
+	/**
+	 * 是否开启异步日志
+	 */
+	static final String ASYNC_PROPERTY_NAME = "spring.jcl.async";
+
+	/**
+	 * 缓冲区大小，向上取整为2的幂
+	 */
+	static final String BUFFER_SIZE_PROPERTY_NAME = "spring.jcl.async.buffer-size";
+
+	/**
+	 * 缓冲区满时的处理：block / drop / sample
+	 */
+	static final String FULL_POLICY_PROPERTY_NAME = "spring.jcl.async.full-policy";
+
+	/**
+	 * sample策略下每多少条保留一条
+	 */
+	static final String SAMPLE_RATE_PROPERTY_NAME = "spring.jcl.async.sample-rate";
+
+	static final int TRACE = 0;
+
+	static final int DEBUG = 1;
+
+	static final int INFO = 2;
+
+	static final int WARN = 3;
+
+	static final int ERROR = 4;
+
+	static final int FATAL = 5;
+
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	private static final int DEFAULT_SAMPLE_RATE = 100;
+
+	/**
+	 * 缓冲区为空时消费者最长的等待时间
+	 */
+	private static final long MAX_WAIT_NANOS = 10_000_000L;
+
+	private static volatile AsyncLogDispatcher instance;
+
+	private final Event[] events;
+
+	private final int mask;
+
+	private final FullPolicy fullPolicy;
+
+	private final int sampleRate;
+
+	/**
+	 * 下一个写入位置
+	 */
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * 缓冲区满时可以被丢弃的日志数，用于采样
+	 */
+	private final AtomicLong overflowed = new AtomicLong();
+
+	/**
+	 * 实际被丢弃的日志数
+	 */
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * 是否已经输出过底层日志实现的异常
+	 */
+	private final AtomicBoolean failureReported = new AtomicBoolean();
+
+	/**
+	 * 下一个读取位置，只在{@link #drain()}中访问
+	 */
+	private long head;
+
+	private final Thread consumer;
+
+	private volatile boolean waiting;
+
+	/**
+	 * 消费者线程是否已经终止
+	 */
+	private volatile boolean stopped;
+
+	private AsyncLogDispatcher(int bufferSize, FullPolicy fullPolicy, int sampleRate) {
+		int capacity = Integer.highestOneBit(Math.min(Math.max(bufferSize - 1, 1), 1 << 29)) << 1;
+		this.events = new Event[capacity];
+		for (int i = 0; i < capacity; i++) {
+			this.events[i] = new Event(i);
+		}
+		this.mask = capacity - 1;
+		this.fullPolicy = fullPolicy;
+		this.sampleRate = Math.max(sampleRate, 1);
+		this.consumer = new Thread(this, "spring-jcl-async");
+		this.consumer.setDaemon(true);
+	}
+
+	/**
+	 * 是否通过系统属性开启了异步日志
+	 */
+	static boolean isEnabled() {
+		return Boolean.parseBoolean(getSystemProperty(ASYNC_PROPERTY_NAME));
+	}
+
+	/**
+	 * 共用的分发器，第一次使用时启动消费者线程
+	 */
+	static AsyncLogDispatcher getInstance() {
+		AsyncLogDispatcher dispatcher = instance;
+		if (dispatcher == null) {
+			synchronized (AsyncLogDispatcher.class) {
+				dispatcher = instance;
+				if (dispatcher == null) {
+					dispatcher = new AsyncLogDispatcher(
+							parseInt(getSystemProperty(BUFFER_SIZE_PROPERTY_NAME), DEFAULT_BUFFER_SIZE),
+							FullPolicy.of(getSystemProperty(FULL_POLICY_PROPERTY_NAME)),
+							parseInt(getSystemProperty(SAMPLE_RATE_PROPERTY_NAME), DEFAULT_SAMPLE_RATE));
+					dispatcher.start();
+					instance = dispatcher;
+				}
+			}
+		}
+		return dispatcher;
+	}
+
+	private void start() {
+		this.consumer.start();
+		try {
+			Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "spring-jcl-async-flush"));
+		}
+		catch (IllegalStateException | SecurityException ex) {
+			// JVM正在关闭
+		}
+	}
+
+	/**
+	 * 共用分发器丢弃的日志数，没有使用过异步日志时返回0
+	 */
+	static long droppedCount() {
+		AsyncLogDispatcher dispatcher = instance;
+		return (dispatcher != null ? dispatcher.getDroppedCount() : 0);
+	}
+
+	/**
+	 * 发布一条日志，级别已由调用方检查
+	 * @param target 实际记录日志的log
+	 * @param level 级别
+	 * @param message 消息
+	 * @param throwable 异常，可以为null
+	 */
+	void publish(Log target, int level, Object message, Throwable throwable) {
+		if (Thread.currentThread() == this.consumer) {
+			// 底层日志实现在消费者线程中记录日志，直接处理，避免等待自己
+			dispatch(target, level, message, throwable);
+			return;
+		}
+		if (this.stopped) {
+			publishSynchronously(target, level, message, throwable);
+			return;
+		}
+		if (tryPublish(target, level, message, throwable)) {
+			return;
+		}
+		if (this.fullPolicy != FullPolicy.BLOCK && level <= INFO) {
+			long count = this.overflowed.incrementAndGet();
+			if (this.fullPolicy == FullPolicy.DROP || count % this.sampleRate != 0) {
+				this.dropped.incrementAndGet();
+				return;
+			}
+		}
+		int spins = 0;
+		while (!tryPublish(target, level, message, throwable)) {
+			if (this.stopped) {
+				publishSynchronously(target, level, message, throwable);
+				return;
+			}
+			if (++spins < 100) {
+				Thread.yield();
+			}
+			else {
+				LockSupport.parkNanos(100_000L);
+			}
+		}
+	}
+
+	/**
+	 * 消费者线程已经终止，缓冲区不会再被清空：先处理缓冲区中剩余的日志，再同步记录
+	 */
+	private void publishSynchronously(Log target, int level, Object message, Throwable throwable) {
+		drain();
+		dispatch(target, level, message, throwable);
+	}
+
+	private boolean tryPublish(Log target, int level, Object message, Throwable throwable) {
+		Event[] events = this.events;
+		long position = this.tail.get();
+		for (;;) {
+			Event event = events[(int) (position & this.mask)];
+			long difference = event.sequence - position;
+			if (difference == 0) {
+				if (this.tail.compareAndSet(position, position + 1)) {
+					event.target = target;
+					event.level = level;
+					event.message = message;
+					event.throwable = throwable;
+					event.sequence = position + 1;
+					if (this.waiting) {
+						LockSupport.unpark(this.consumer);
+					}
+					return true;
+				}
+				position = this.tail.get();
+			}
+			else if (difference < 0) {
+				// 缓冲区已满
+				return false;
+			}
+			else {
+				position = this.tail.get();
+			}
+		}
+	}
+
+	@Override
+	public void run() {
+		try {
+			for (;;) {
+				if (drain() == 0) {
+					this.waiting = true;
+					if (drain() == 0) {
+						LockSupport.parkNanos(this, MAX_WAIT_NANOS);
+					}
+					this.waiting = false;
+				}
+			}
+		}
+		finally {
+			// 只有dispatch抛出的Error会到达这里
+			this.stopped = true;
+		}
+	}
+
+	/**
+	 * 批量处理已发布的事件
+	 * @return 处理的事件数
+	 */
+	private synchronized int drain() {
+		Event[] events = this.events;
+		long head = this.head;
+		int processed = 0;
+		for (;;) {
+			Event event = events[(int) (head & this.mask)];
+			if (event.sequence != head + 1) {
+				break;
+			}
+			Log target = event.target;
+			int level = event.level;
+			Object message = event.message;
+			Throwable throwable = event.throwable;
+			event.target = null;
+			event.message = null;
+			event.throwable = null;
+			event.sequence = head + events.length;
+			// 先标记为已处理，dispatch抛出Error时不会重复处理，也不会卡住之后的事件
+			this.head = ++head;
+			processed++;
+			dispatch(target, level, message, throwable);
+		}
+		return processed;
+	}
+
+	/**
+	 * JVM关闭前处理剩余的日志，并输出丢弃的日志数
+	 */
+	void flush() {
+		drain();
+		long dropped = this.dropped.get();
+		if (dropped > 0) {
+			System.err.println("spring-jcl: " + dropped + " log events dropped by the " +
+					this.fullPolicy + " policy because the async buffer was full");
+		}
+	}
+
+	/**
+	 * 被丢弃的日志数，不包括{@link FullPolicy#SAMPLE}保留的日志
+	 */
+	long getDroppedCount() {
+		return this.dropped.get();
+	}
+
+	private void dispatch(Log target, int level, Object message, Throwable throwable) {
+		try {
+			switch (level) {
+				case TRACE:
+					target.trace(message, throwable);
+					break;
+				case DEBUG:
+					target.debug(message, throwable);
+					break;
+				case INFO:
+					target.info(message, throwable);
+					break;
+				case WARN:
+					target.warn(message, throwable);
+					break;
+				case ERROR:
+					target.error(message, throwable);
+					break;
+				default:
+					target.fatal(message, throwable);
+			}
+		}
+		catch (RuntimeException | LinkageError ex) {
+			// 底层日志实现的异常不能终止消费者线程；只输出第一次，避免每条日志都输出
+			if (this.failureReported.compareAndSet(false, true)) {
+				System.err.println("spring-jcl: async logging failed, further failures are ignored");
+				ex.printStackTrace();
+			}
+		}
+	}
+
+	private static String getSystemProperty(String key) {
+		try {
+			return System.getProperty(key);
+		}
+		catch (SecurityException ex) {
+			return null;
+		}
+	}
+
+	private static int parseInt(String value, int defaultValue) {
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		}
+		catch (NumberFormatException ex) {
+			return defaultValue;
+		}
+	}
+
+
+	/**
+	 * 缓冲区满时的处理
+	 */
+	enum FullPolicy {
+
+		BLOCK, DROP, SAMPLE;
+
+		static FullPolicy of(String value) {
+			if (value != null) {
+				for (FullPolicy policy : values()) {
+					if (policy.name().equalsIgnoreCase(value.trim())) {
+						return policy;
+					}
+				}
+			}
+			return BLOCK;
+		}
+	}
+
+
+	/**
+	 * 预先分配的事件，循环使用
+	 */
+	private static final class Event {
+
+		/**
+		 * 等于写入位置时可以写入，等于写入位置+1时可以读取
+		 */
+		volatile long sequence;
+
+		Log target;
+
+		int level;
+
+		Object message;
+
+		Throwable throwable;
+
+		Event(long sequence) {
+			this.sequence = sequence;
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package org.apache.commons.logging;
 
+import java.util.function.Supplier;
+
 /**
  * 日志抽象接口API
  *
@@ -13,6 +15,10 @@ package org.apache.commons.logging;
  *     <li>fatal</li>
  * </ol>
  *
+ * <p>除了传入已构造好的消息，还可以传入{@link Supplier}或者带有{@code {}}占位符的参数化消息，
+ * 只有级别开启时才会构造消息。默认实现基于{@code isXxxEnabled()}，适配器会映射到底层日志实现的原生api
+ * <p>{@code log.debug(null)}会选择{@link Supplier}的重载，为null的{@link Supplier}与{@code null}消息等价
+ *
  * @author dengweichang
  */
 public interface Log {
@@ -130,4 +136,490 @@ public interface Log {
 	 * @param t 异常
 	 */
 	void trace(Object message, Throwable t);
+
+	/**
+	 * 记录致命级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 */
+	default void fatal(Supplier<?> messageSupplier) {
+		if (isFatalEnabled()) {
+			fatal(messageSupplier != null ? messageSupplier.get() : null);
+		}
+	}
+
+	/**
+	 * 记录致命级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 * @param t 异常
+	 */
+	default void fatal(Supplier<?> messageSupplier, Throwable t) {
+		if (isFatalEnabled()) {
+			fatal(messageSupplier != null ? messageSupplier.get() : null, t);
+		}
+	}
+
+	/**
+	 * 记录致命级别的日志
+	 * <p>与参数化方法同时存在时，避免{@code fatal("...", ex)}的重载歧义
+	 * @param message log this message
+	 * @param t 异常
+	 */
+	default void fatal(String message, Throwable t) {
+		fatal((Object) message, t);
+	}
+
+	/**
+	 * 记录致命级别的参数化日志，{@code {}}依次替换为参数，只有级别开启时才格式化
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg 参数
+	 */
+	default void fatal(String format, Object arg) {
+		if (isFatalEnabled()) {
+			Object[] args = {arg};
+			fatal(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录致命级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 */
+	default void fatal(String format, Object arg1, Object arg2) {
+		if (isFatalEnabled()) {
+			Object[] args = {arg1, arg2};
+			fatal(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录致命级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 * @param arg3 第三个参数
+	 */
+	default void fatal(String format, Object arg1, Object arg2, Object arg3) {
+		if (isFatalEnabled()) {
+			Object[] args = {arg1, arg2, arg3};
+			fatal(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录致命级别的参数化日志，最后一个参数为没有对应占位符的{@link Throwable}时作为异常记录
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param args 参数
+	 */
+	default void fatal(String format, Object... args) {
+		if (isFatalEnabled()) {
+			fatal(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录错误级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 */
+	default void error(Supplier<?> messageSupplier) {
+		if (isErrorEnabled()) {
+			error(messageSupplier != null ? messageSupplier.get() : null);
+		}
+	}
+
+	/**
+	 * 记录错误级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 * @param t 异常
+	 */
+	default void error(Supplier<?> messageSupplier, Throwable t) {
+		if (isErrorEnabled()) {
+			error(messageSupplier != null ? messageSupplier.get() : null, t);
+		}
+	}
+
+	/**
+	 * 记录错误级别的日志
+	 * <p>与参数化方法同时存在时，避免{@code error("...", ex)}的重载歧义
+	 * @param message log this message
+	 * @param t 异常
+	 */
+	default void error(String message, Throwable t) {
+		error((Object) message, t);
+	}
+
+	/**
+	 * 记录错误级别的参数化日志，{@code {}}依次替换为参数，只有级别开启时才格式化
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg 参数
+	 */
+	default void error(String format, Object arg) {
+		if (isErrorEnabled()) {
+			Object[] args = {arg};
+			error(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录错误级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 */
+	default void error(String format, Object arg1, Object arg2) {
+		if (isErrorEnabled()) {
+			Object[] args = {arg1, arg2};
+			error(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录错误级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 * @param arg3 第三个参数
+	 */
+	default void error(String format, Object arg1, Object arg2, Object arg3) {
+		if (isErrorEnabled()) {
+			Object[] args = {arg1, arg2, arg3};
+			error(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录错误级别的参数化日志，最后一个参数为没有对应占位符的{@link Throwable}时作为异常记录
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param args 参数
+	 */
+	default void error(String format, Object... args) {
+		if (isErrorEnabled()) {
+			error(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录警告级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 */
+	default void warn(Supplier<?> messageSupplier) {
+		if (isWarnEnabled()) {
+			warn(messageSupplier != null ? messageSupplier.get() : null);
+		}
+	}
+
+	/**
+	 * 记录警告级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 * @param t 异常
+	 */
+	default void warn(Supplier<?> messageSupplier, Throwable t) {
+		if (isWarnEnabled()) {
+			warn(messageSupplier != null ? messageSupplier.get() : null, t);
+		}
+	}
+
+	/**
+	 * 记录警告级别的日志
+	 * <p>与参数化方法同时存在时，避免{@code warn("...", ex)}的重载歧义
+	 * @param message log this message
+	 * @param t 异常
+	 */
+	default void warn(String message, Throwable t) {
+		warn((Object) message, t);
+	}
+
+	/**
+	 * 记录警告级别的参数化日志，{@code {}}依次替换为参数，只有级别开启时才格式化
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg 参数
+	 */
+	default void warn(String format, Object arg) {
+		if (isWarnEnabled()) {
+			Object[] args = {arg};
+			warn(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录警告级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 */
+	default void warn(String format, Object arg1, Object arg2) {
+		if (isWarnEnabled()) {
+			Object[] args = {arg1, arg2};
+			warn(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录警告级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 * @param arg3 第三个参数
+	 */
+	default void warn(String format, Object arg1, Object arg2, Object arg3) {
+		if (isWarnEnabled()) {
+			Object[] args = {arg1, arg2, arg3};
+			warn(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录警告级别的参数化日志，最后一个参数为没有对应占位符的{@link Throwable}时作为异常记录
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param args 参数
+	 */
+	default void warn(String format, Object... args) {
+		if (isWarnEnabled()) {
+			warn(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录信息级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 */
+	default void info(Supplier<?> messageSupplier) {
+		if (isInfoEnabled()) {
+			info(messageSupplier != null ? messageSupplier.get() : null);
+		}
+	}
+
+	/**
+	 * 记录信息级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 * @param t 异常
+	 */
+	default void info(Supplier<?> messageSupplier, Throwable t) {
+		if (isInfoEnabled()) {
+			info(messageSupplier != null ? messageSupplier.get() : null, t);
+		}
+	}
+
+	/**
+	 * 记录信息级别的日志
+	 * <p>与参数化方法同时存在时，避免{@code info("...", ex)}的重载歧义
+	 * @param message log this message
+	 * @param t 异常
+	 */
+	default void info(String message, Throwable t) {
+		info((Object) message, t);
+	}
+
+	/**
+	 * 记录信息级别的参数化日志，{@code {}}依次替换为参数，只有级别开启时才格式化
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg 参数
+	 */
+	default void info(String format, Object arg) {
+		if (isInfoEnabled()) {
+			Object[] args = {arg};
+			info(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录信息级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 */
+	default void info(String format, Object arg1, Object arg2) {
+		if (isInfoEnabled()) {
+			Object[] args = {arg1, arg2};
+			info(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录信息级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 * @param arg3 第三个参数
+	 */
+	default void info(String format, Object arg1, Object arg2, Object arg3) {
+		if (isInfoEnabled()) {
+			Object[] args = {arg1, arg2, arg3};
+			info(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录信息级别的参数化日志，最后一个参数为没有对应占位符的{@link Throwable}时作为异常记录
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param args 参数
+	 */
+	default void info(String format, Object... args) {
+		if (isInfoEnabled()) {
+			info(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录调试级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 */
+	default void debug(Supplier<?> messageSupplier) {
+		if (isDebugEnabled()) {
+			debug(messageSupplier != null ? messageSupplier.get() : null);
+		}
+	}
+
+	/**
+	 * 记录调试级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 * @param t 异常
+	 */
+	default void debug(Supplier<?> messageSupplier, Throwable t) {
+		if (isDebugEnabled()) {
+			debug(messageSupplier != null ? messageSupplier.get() : null, t);
+		}
+	}
+
+	/**
+	 * 记录调试级别的日志
+	 * <p>与参数化方法同时存在时，避免{@code debug("...", ex)}的重载歧义
+	 * @param message log this message
+	 * @param t 异常
+	 */
+	default void debug(String message, Throwable t) {
+		debug((Object) message, t);
+	}
+
+	/**
+	 * 记录调试级别的参数化日志，{@code {}}依次替换为参数，只有级别开启时才格式化
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg 参数
+	 */
+	default void debug(String format, Object arg) {
+		if (isDebugEnabled()) {
+			Object[] args = {arg};
+			debug(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录调试级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 */
+	default void debug(String format, Object arg1, Object arg2) {
+		if (isDebugEnabled()) {
+			Object[] args = {arg1, arg2};
+			debug(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录调试级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 * @param arg3 第三个参数
+	 */
+	default void debug(String format, Object arg1, Object arg2, Object arg3) {
+		if (isDebugEnabled()) {
+			Object[] args = {arg1, arg2, arg3};
+			debug(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录调试级别的参数化日志，最后一个参数为没有对应占位符的{@link Throwable}时作为异常记录
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param args 参数
+	 */
+	default void debug(String format, Object... args) {
+		if (isDebugEnabled()) {
+			debug(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录追踪级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 */
+	default void trace(Supplier<?> messageSupplier) {
+		if (isTraceEnabled()) {
+			trace(messageSupplier != null ? messageSupplier.get() : null);
+		}
+	}
+
+	/**
+	 * 记录追踪级别的日志，只有级别开启时才获取消息
+	 * @param messageSupplier 消息的提供者
+	 * @param t 异常
+	 */
+	default void trace(Supplier<?> messageSupplier, Throwable t) {
+		if (isTraceEnabled()) {
+			trace(messageSupplier != null ? messageSupplier.get() : null, t);
+		}
+	}
+
+	/**
+	 * 记录追踪级别的日志
+	 * <p>与参数化方法同时存在时，避免{@code trace("...", ex)}的重载歧义
+	 * @param message log this message
+	 * @param t 异常
+	 */
+	default void trace(String message, Throwable t) {
+		trace((Object) message, t);
+	}
+
+	/**
+	 * 记录追踪级别的参数化日志，{@code {}}依次替换为参数，只有级别开启时才格式化
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg 参数
+	 */
+	default void trace(String format, Object arg) {
+		if (isTraceEnabled()) {
+			Object[] args = {arg};
+			trace(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录追踪级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 */
+	default void trace(String format, Object arg1, Object arg2) {
+		if (isTraceEnabled()) {
+			Object[] args = {arg1, arg2};
+			trace(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录追踪级别的参数化日志
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 * @param arg3 第三个参数
+	 */
+	default void trace(String format, Object arg1, Object arg2, Object arg3) {
+		if (isTraceEnabled()) {
+			Object[] args = {arg1, arg2, arg3};
+			trace(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
+
+	/**
+	 * 记录追踪级别的参数化日志，最后一个参数为没有对应占位符的{@link Throwable}时作为异常记录
+	 * @param format 带有{@code {}}占位符的消息
+	 * @param args 参数
+	 */
+	default void trace(String format, Object... args) {
+		if (isTraceEnabled()) {
+			trace(ParameterizedMessage.format(format, args), ParameterizedMessage.getThrowable(format, args));
+		}
+	}
 }
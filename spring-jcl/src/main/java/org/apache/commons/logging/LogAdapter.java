@@ -4,15 +4,32 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.spi.ExtendedLogger;
 import org.apache.logging.log4j.spi.LoggerContext;
+import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.spi.LocationAwareLogger;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.LogRecord;
+import java.util.stream.Stream;
 
 /**
  * spring JCL 适配器
- * 检测 Log4j 2.x / SLF4J
+ * 检测 Log4j 2.x / SLF4J，都不存在时使用 {@code java.util.logging}
+ *
+ * <p>可以通过系统属性{@value #LOG_API_PROPERTY_NAME}或者构建时生成的{@value #DESCRIPTOR_LOCATION}显式指定日志实现，
+ * 此时跳过classpath检测，只加载选中的适配器，其余日志实现的类不会被加载；指定的实现不存在时第一次创建log会失败
  *
  * @author dengweichang
  */
@@ -26,37 +43,47 @@ final class LogAdapter {
 
 	private static final String SLF4J_API = "org.slf4j.Logger";
 
+	/**
+	 * 显式指定日志实现：log4j / slf4j_lal / slf4j / jul，指定后不再检测classpath
+	 */
+	static final String LOG_API_PROPERTY_NAME = "spring.jcl.log-api";
+
+	/**
+	 * 构建时生成的描述文件，{@value #DESCRIPTOR_KEY}指定日志实现，优先级低于系统属性
+	 */
+	static final String DESCRIPTOR_LOCATION = "META-INF/spring-jcl.properties";
+
+	static final String DESCRIPTOR_KEY = "log-api";
+
 	private static final LogApi LOG_API;
 
+	/**
+	 * 级别配置的版本，底层日志实现重新配置后递增，使各log缓存的级别失效
+	 */
+	private static final AtomicInteger levelEpoch = new AtomicInteger();
+
+	private static final boolean ASYNC = AsyncLogDispatcher.isEnabled();
+
 	static {
-		if (isPresent(LOG4J_SPI)) {
-			if (isPresent(LOG4J_SLF4J_PROVIDER) && isPresent(SLF4J_SPI)) {
-				//log4j桥接至slf4j，虽然倾向于使用slf4j，但使用桥接可以避免未知的变化
-				//slf4j不支持位置识别（自己猜的- -）
-				LOG_API = LogApi.SLF4J_LAL;
-			} else {
-				//使用log4j
-				LOG_API = LogApi.SLF4J;
-			}
-		}
-		else if (isPresent(SLF4J_SPI)) {
-			//包括位置识别的完整的slf4j spi
-			LOG_API = LogApi.SLF4J_LAL;
-		}
-		else if (isPresent(SLF4J_API)) {
-			//简化版的slf4j 不支持位置识别
-			LOG_API = LogApi.SLF4J;
-		}
-		else {
-			//默认的java日志
-			LOG_API = LogApi.JUL;
-		}
+		LogApi selected = getSelectedLogApi();
+		LOG_API = (selected != null ? selected : detectLogApi());
 	}
 
 	private LogAdapter() {
 	}
 
+	/**
+	 * 创建log，通过{@value AsyncLogDispatcher#ASYNC_PROPERTY_NAME}开启异步日志时包装为{@link AsyncLog}
+	 */
 	public static Log createLog(String name) {
+		Log log = createBackendLog(name);
+		if (log != null && ASYNC) {
+			return new AsyncLog(log, AsyncLogDispatcher.getInstance());
+		}
+		return log;
+	}
+
+	private static Log createBackendLog(String name) {
 		switch (LOG_API) {
 			case LOG4J:
 				return Log4jAdapter.createLog(name);
@@ -65,8 +92,77 @@ final class LogAdapter {
 			case SLF4J:
 				return Slf4jAdapter.createLog(name);
 			default:
-				//JDK9 默认不再提供日志模块，暂时不考虑了 - -
-				return null;
+				return JavaUtilAdapter.createLog(name);
+		}
+	}
+
+	/**
+	 * 底层日志实现的级别配置已变化，使各log缓存的级别失效
+	 */
+	static void invalidateLevels() {
+		levelEpoch.incrementAndGet();
+	}
+
+	/**
+	 * 显式指定的日志实现
+	 * @return 没有指定或者无法识别时返回null
+	 */
+	private static LogApi getSelectedLogApi() {
+		String value = getSystemProperty(LOG_API_PROPERTY_NAME);
+		if (value == null) {
+			value = readDescriptor();
+		}
+		return LogApi.of(value);
+	}
+
+	private static String readDescriptor() {
+		ClassLoader classLoader = LogAdapter.class.getClassLoader();
+		InputStream is = (classLoader != null ? classLoader.getResourceAsStream(DESCRIPTOR_LOCATION) :
+				ClassLoader.getSystemResourceAsStream(DESCRIPTOR_LOCATION));
+		if (is == null) {
+			return null;
+		}
+		try (InputStream in = is) {
+			Properties props = new Properties();
+			props.load(in);
+			return props.getProperty(DESCRIPTOR_KEY);
+		}
+		catch (IOException | IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * 检测classpath中的日志实现
+	 */
+	private static LogApi detectLogApi() {
+		if (isPresent(LOG4J_SPI)) {
+			if (isPresent(LOG4J_SLF4J_PROVIDER) && isPresent(SLF4J_SPI)) {
+				//log4j桥接至slf4j，虽然倾向于使用slf4j，但使用桥接可以避免未知的变化
+				//slf4j不支持位置识别（自己猜的- -）
+				return LogApi.SLF4J_LAL;
+			}
+			//使用log4j
+			return LogApi.SLF4J;
+		}
+		else if (isPresent(SLF4J_SPI)) {
+			//包括位置识别的完整的slf4j spi
+			return LogApi.SLF4J_LAL;
+		}
+		else if (isPresent(SLF4J_API)) {
+			//简化版的slf4j 不支持位置识别
+			return LogApi.SLF4J;
+		}
+		//默认的java日志
+		return LogApi.JUL;
+	}
+
+	private static String getSystemProperty(String key) {
+		try {
+			return System.getProperty(key);
+		}
+		catch (SecurityException ex) {
+			return null;
 		}
 	}
 
@@ -91,7 +187,23 @@ final class LogAdapter {
 		/**
 		 * log4j, log4j to slf4j bridge, slf4j, java util log
 		 */
-		LOG4J, SLF4J_LAL, SLF4J, JUL
+		LOG4J, SLF4J_LAL, SLF4J, JUL;
+
+		/**
+		 * 不区分大小写，{@code -}与{@code _}等价，e.g. {@code slf4j-lal}
+		 */
+		static LogApi of(String value) {
+			if (value == null) {
+				return null;
+			}
+			String name = value.trim().replace('-', '_');
+			for (LogApi logApi : values()) {
+				if (logApi.name().equalsIgnoreCase(name)) {
+					return logApi;
+				}
+			}
+			return null;
+		}
 	}
 
 	private static class Log4jAdapter {
@@ -105,6 +217,7 @@ final class LogAdapter {
 	 * 有位置感知及没有位置感知
 	 */
 	private static class Slf4jAdapter {
+
 		public static Log createLocationAwareLog(String name) {
 			Logger logger = LoggerFactory.getLogger(name);
 			return (logger instanceof LocationAwareLogger) ? new Slf4jLocationAwareLog((LocationAwareLogger) logger) : new Slf4jLog<>(logger);
@@ -113,10 +226,80 @@ final class LogAdapter {
 		public static Log createLog(String name) {
 			return new Slf4jLog<>(LoggerFactory.getLogger(name));
 		}
+
+		/**
+		 * slf4j本身没有配置变化的通知，底层是logback或者log4j（{@code log4j-slf4j-impl}）时通过反射注册监听器，
+		 * 级别变化或者重新配置时使缓存的级别失效
+		 * @return 是否注册成功，失败时各log不缓存级别，每次都向slf4j查询
+		 */
+		static boolean registerLevelListener() {
+			try {
+				ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+				return (registerLogbackListener(loggerFactory) || registerLog4jListener(loggerFactory));
+			}
+			catch (Exception | LinkageError ex) {
+				return false;
+			}
+		}
+
+		/**
+		 * logback：{@code LoggerContextListener}，级别变化或者重置时回调
+		 */
+		private static boolean registerLogbackListener(ILoggerFactory loggerFactory) throws Exception {
+			Class<?> contextClass = loggerFactory.getClass();
+			if (!"ch.qos.logback.classic.LoggerContext".equals(contextClass.getName())) {
+				return false;
+			}
+			ClassLoader classLoader = contextClass.getClassLoader();
+			Class<?> listenerType = Class.forName("ch.qos.logback.classic.spi.LoggerContextListener", false, classLoader);
+			contextClass.getMethod("addListener", listenerType).invoke(loggerFactory, newLevelListener(classLoader, listenerType));
+			return true;
+		}
+
+		/**
+		 * log4j：{@code LoggerContext}的{@code PropertyChangeListener}，
+		 * 重新配置以及{@code Configurator.setLevel}等调用{@code updateLoggers()}时回调
+		 */
+		private static boolean registerLog4jListener(ILoggerFactory loggerFactory) throws Exception {
+			if (!"org.apache.logging.slf4j.Log4jLoggerFactory".equals(loggerFactory.getClass().getName())) {
+				return false;
+			}
+			ClassLoader classLoader = loggerFactory.getClass().getClassLoader();
+			Object context = Class.forName("org.apache.logging.log4j.LogManager", false, classLoader)
+					.getMethod("getContext", ClassLoader.class, boolean.class)
+					.invoke(null, LogAdapter.class.getClassLoader(), false);
+			Class<?> listenerType = Class.forName("java.beans.PropertyChangeListener", false, LogAdapter.class.getClassLoader());
+			// log4j-api自带的SimpleLoggerContext等没有该方法，抛出NoSuchMethodException
+			context.getClass().getMethod("addPropertyChangeListener", listenerType)
+					.invoke(context, newLevelListener(LogAdapter.class.getClassLoader(), listenerType));
+			return true;
+		}
+
+		private static Object newLevelListener(ClassLoader classLoader, Class<?> listenerType) {
+			return Proxy.newProxyInstance(classLoader, new Class<?>[] {listenerType}, (proxy, method, args) -> {
+				switch (method.getName()) {
+					case "isResetResistant":
+						return true;
+					case "equals":
+						return (proxy == args[0]);
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "toString":
+						return "spring-jcl level listener";
+					default:
+						// logback: onStart, onReset, onStop, onLevelChange; log4j: propertyChange
+						invalidateLevels();
+						return null;
+				}
+			});
+		}
 	}
 
 	/**
 	 * bridge -> 修正抽象化日志 log4j
+	 *
+	 * <p>消息原样交给log4j（不调用{@code String.valueOf}），参数化方法使用log4j的原生重载；
+	 * 本类不额外分配对象，是否产生垃圾取决于log4j的配置（e.g. {@code ReusableMessageFactory}）及appender
 	 */
 	private static class Log4jLog implements Log, Serializable {
 
@@ -233,6 +416,195 @@ final class LogAdapter {
 			log(Level.TRACE, message, t);
 		}
 
+		@Override
+		public void fatal(Supplier<?> messageSupplier) {
+			logSupplier(Level.FATAL, messageSupplier, null);
+		}
+
+		@Override
+		public void fatal(Supplier<?> messageSupplier, Throwable t) {
+			logSupplier(Level.FATAL, messageSupplier, t);
+		}
+
+		@Override
+		public void fatal(String format, Object arg) {
+			this.logger.logIfEnabled(FQCN, Level.FATAL, null, format, arg);
+		}
+
+		@Override
+		public void fatal(String format, Object arg1, Object arg2) {
+			this.logger.logIfEnabled(FQCN, Level.FATAL, null, format, arg1, arg2);
+		}
+
+		@Override
+		public void fatal(String format, Object arg1, Object arg2, Object arg3) {
+			this.logger.logIfEnabled(FQCN, Level.FATAL, null, format, arg1, arg2, arg3);
+		}
+
+		@Override
+		public void fatal(String format, Object... args) {
+			this.logger.logIfEnabled(FQCN, Level.FATAL, null, format, args);
+		}
+
+		@Override
+		public void error(Supplier<?> messageSupplier) {
+			logSupplier(Level.ERROR, messageSupplier, null);
+		}
+
+		@Override
+		public void error(Supplier<?> messageSupplier, Throwable t) {
+			logSupplier(Level.ERROR, messageSupplier, t);
+		}
+
+		@Override
+		public void error(String format, Object arg) {
+			this.logger.logIfEnabled(FQCN, Level.ERROR, null, format, arg);
+		}
+
+		@Override
+		public void error(String format, Object arg1, Object arg2) {
+			this.logger.logIfEnabled(FQCN, Level.ERROR, null, format, arg1, arg2);
+		}
+
+		@Override
+		public void error(String format, Object arg1, Object arg2, Object arg3) {
+			this.logger.logIfEnabled(FQCN, Level.ERROR, null, format, arg1, arg2, arg3);
+		}
+
+		@Override
+		public void error(String format, Object... args) {
+			this.logger.logIfEnabled(FQCN, Level.ERROR, null, format, args);
+		}
+
+		@Override
+		public void warn(Supplier<?> messageSupplier) {
+			logSupplier(Level.WARN, messageSupplier, null);
+		}
+
+		@Override
+		public void warn(Supplier<?> messageSupplier, Throwable t) {
+			logSupplier(Level.WARN, messageSupplier, t);
+		}
+
+		@Override
+		public void warn(String format, Object arg) {
+			this.logger.logIfEnabled(FQCN, Level.WARN, null, format, arg);
+		}
+
+		@Override
+		public void warn(String format, Object arg1, Object arg2) {
+			this.logger.logIfEnabled(FQCN, Level.WARN, null, format, arg1, arg2);
+		}
+
+		@Override
+		public void warn(String format, Object arg1, Object arg2, Object arg3) {
+			this.logger.logIfEnabled(FQCN, Level.WARN, null, format, arg1, arg2, arg3);
+		}
+
+		@Override
+		public void warn(String format, Object... args) {
+			this.logger.logIfEnabled(FQCN, Level.WARN, null, format, args);
+		}
+
+		@Override
+		public void info(Supplier<?> messageSupplier) {
+			logSupplier(Level.INFO, messageSupplier, null);
+		}
+
+		@Override
+		public void info(Supplier<?> messageSupplier, Throwable t) {
+			logSupplier(Level.INFO, messageSupplier, t);
+		}
+
+		@Override
+		public void info(String format, Object arg) {
+			this.logger.logIfEnabled(FQCN, Level.INFO, null, format, arg);
+		}
+
+		@Override
+		public void info(String format, Object arg1, Object arg2) {
+			this.logger.logIfEnabled(FQCN, Level.INFO, null, format, arg1, arg2);
+		}
+
+		@Override
+		public void info(String format, Object arg1, Object arg2, Object arg3) {
+			this.logger.logIfEnabled(FQCN, Level.INFO, null, format, arg1, arg2, arg3);
+		}
+
+		@Override
+		public void info(String format, Object... args) {
+			this.logger.logIfEnabled(FQCN, Level.INFO, null, format, args);
+		}
+
+		@Override
+		public void debug(Supplier<?> messageSupplier) {
+			logSupplier(Level.DEBUG, messageSupplier, null);
+		}
+
+		@Override
+		public void debug(Supplier<?> messageSupplier, Throwable t) {
+			logSupplier(Level.DEBUG, messageSupplier, t);
+		}
+
+		@Override
+		public void debug(String format, Object arg) {
+			this.logger.logIfEnabled(FQCN, Level.DEBUG, null, format, arg);
+		}
+
+		@Override
+		public void debug(String format, Object arg1, Object arg2) {
+			this.logger.logIfEnabled(FQCN, Level.DEBUG, null, format, arg1, arg2);
+		}
+
+		@Override
+		public void debug(String format, Object arg1, Object arg2, Object arg3) {
+			this.logger.logIfEnabled(FQCN, Level.DEBUG, null, format, arg1, arg2, arg3);
+		}
+
+		@Override
+		public void debug(String format, Object... args) {
+			this.logger.logIfEnabled(FQCN, Level.DEBUG, null, format, args);
+		}
+
+		@Override
+		public void trace(Supplier<?> messageSupplier) {
+			logSupplier(Level.TRACE, messageSupplier, null);
+		}
+
+		@Override
+		public void trace(Supplier<?> messageSupplier, Throwable t) {
+			logSupplier(Level.TRACE, messageSupplier, t);
+		}
+
+		@Override
+		public void trace(String format, Object arg) {
+			this.logger.logIfEnabled(FQCN, Level.TRACE, null, format, arg);
+		}
+
+		@Override
+		public void trace(String format, Object arg1, Object arg2) {
+			this.logger.logIfEnabled(FQCN, Level.TRACE, null, format, arg1, arg2);
+		}
+
+		@Override
+		public void trace(String format, Object arg1, Object arg2, Object arg3) {
+			this.logger.logIfEnabled(FQCN, Level.TRACE, null, format, arg1, arg2, arg3);
+		}
+
+		@Override
+		public void trace(String format, Object... args) {
+			this.logger.logIfEnabled(FQCN, Level.TRACE, null, format, args);
+		}
+
+		/**
+		 * 只有级别开启时才获取消息
+		 */
+		private void logSupplier(Level level, Supplier<?> messageSupplier, Throwable exception) {
+			if (this.logger.isEnabled(level)) {
+				log(level, (messageSupplier != null ? messageSupplier.get() : null), exception);
+			}
+		}
+
 		private void log(Level level, Object message, Throwable exception) {
 			if (message instanceof String) {
 				if (exception != null) {
@@ -250,46 +622,135 @@ final class LogAdapter {
 
 	/**
 	 * bridge -> 修正抽象化日志 slf4j
+	 *
+	 * <p>各级别是否开启缓存在每个log中，与{@link #levelEpoch}一起保存；epoch变化后（底层日志实现重新配置）
+	 * 重新向slf4j查询。只有能够感知配置变化（见{@link Slf4jAdapter#registerLevelListener()}）时才缓存，
+	 * 否则每次都向slf4j查询。级别关闭时的调用只有一次volatile读（或者slf4j自身的判断），不会创建任何对象；
+	 * 级别开启时字符串消息及一个、两个参数的参数化消息也不会创建对象（见{@code LogAllocationTests}）
 	 * @param <T>
 	 */
 	private static class Slf4jLog<T extends Logger> implements Log, Serializable {
-		final String name;
+
+		protected static final int TRACE = 1;
+
+		protected static final int DEBUG = 1 << 1;
+
+		protected static final int INFO = 1 << 2;
+
+		protected static final int WARN = 1 << 3;
+
+		protected static final int ERROR = 1 << 4;
+
+		private static final int LEVEL_BITS = 5;
+
+		private static final int EPOCH_MASK = -1 >>> LEVEL_BITS;
+
+		/**
+		 * 与任何epoch都不一致的状态，第一次使用时查询
+		 */
+		private static final int STALE = -1;
+
+		/**
+		 * 是否注册了级别变化的监听器，没有时不缓存级别
+		 */
+		private static final boolean CACHE_LEVELS = Slf4jAdapter.registerLevelListener();
+
+		protected final String name;
 
 		protected transient T logger;
 
+		/**
+		 * 高位为epoch，低{@link #LEVEL_BITS}位为开启的级别
+		 */
+		private transient int levels = STALE;
+
 		public Slf4jLog(T logger) {
 			this.name = logger.getName();
 			this.logger = logger;
 		}
 
+		/**
+		 * 指定级别是否开启
+		 * @param level {@link #TRACE}/{@link #DEBUG}/{@link #INFO}/{@link #WARN}/{@link #ERROR}
+		 */
+		protected final boolean isEnabled(int level) {
+			if (!CACHE_LEVELS) {
+				return queryLevel(level);
+			}
+			int epoch = levelEpoch.get() & EPOCH_MASK;
+			int levels = this.levels;
+			if ((levels >>> LEVEL_BITS) != epoch) {
+				// 多个线程同时刷新时结果相同，int的写入是原子的
+				levels = (epoch << LEVEL_BITS) | resolveLevels();
+				this.levels = levels;
+			}
+			return (levels & level) != 0;
+		}
+
+		private boolean queryLevel(int level) {
+			switch (level) {
+				case TRACE:
+					return this.logger.isTraceEnabled();
+				case DEBUG:
+					return this.logger.isDebugEnabled();
+				case INFO:
+					return this.logger.isInfoEnabled();
+				case WARN:
+					return this.logger.isWarnEnabled();
+				default:
+					return this.logger.isErrorEnabled();
+			}
+		}
+
+		private int resolveLevels() {
+			Logger logger = this.logger;
+			int levels = 0;
+			if (logger.isTraceEnabled()) {
+				levels |= TRACE;
+			}
+			if (logger.isDebugEnabled()) {
+				levels |= DEBUG;
+			}
+			if (logger.isInfoEnabled()) {
+				levels |= INFO;
+			}
+			if (logger.isWarnEnabled()) {
+				levels |= WARN;
+			}
+			if (logger.isErrorEnabled()) {
+				levels |= ERROR;
+			}
+			return levels;
+		}
+
 		@Override
 		public boolean isFatalEnabled() {
-			return false;
+			return isEnabled(ERROR);
 		}
 
 		@Override
 		public boolean isErrorEnabled() {
-			return false;
+			return isEnabled(ERROR);
 		}
 
 		@Override
 		public boolean isWarnEnabled() {
-			return false;
+			return isEnabled(WARN);
 		}
 
 		@Override
 		public boolean isInfoEnabled() {
-			return false;
+			return isEnabled(INFO);
 		}
 
 		@Override
 		public boolean isDebugEnabled() {
-			return false;
+			return isEnabled(DEBUG);
 		}
 
 		@Override
 		public boolean isTraceEnabled() {
-			return false;
+			return isEnabled(TRACE);
 		}
 
 		/**
@@ -307,14 +768,14 @@ final class LogAdapter {
 
 		@Override
 		public void error(Object message) {
-			if (message instanceof String || this.logger.isErrorEnabled()) {
+			if (isEnabled(ERROR)) {
 				this.logger.error(String.valueOf(message));
 			}
 		}
 
 		@Override
 		public void error(Object message, Throwable t) {
-			if (message instanceof String || this.logger.isErrorEnabled()) {
+			if (isEnabled(ERROR)) {
 				this.logger.error(String.valueOf(message), t);
 			}
 		}
@@ -326,66 +787,303 @@ final class LogAdapter {
 		 */
 		@Override
 		public void warn(Object message) {
-			if (message instanceof String || this.logger.isWarnEnabled()) {
+			if (isEnabled(WARN)) {
 				this.logger.warn(String.valueOf(message));
 			}
 		}
 
 		@Override
 		public void warn(Object message, Throwable t) {
-			if (message instanceof String || this.logger.isWarnEnabled()) {
+			if (isEnabled(WARN)) {
 				this.logger.warn(String.valueOf(message), t);
 			}
 		}
 
 		@Override
 		public void info(Object message) {
-			if (message instanceof String || this.logger.isInfoEnabled()) {
+			if (isEnabled(INFO)) {
 				this.logger.info(String.valueOf(message));
 			}
 		}
 
 		@Override
 		public void info(Object message, Throwable t) {
-			if (message instanceof String || this.logger.isInfoEnabled()) {
+			if (isEnabled(INFO)) {
 				this.logger.info(String.valueOf(message), t);
 			}
 		}
 
 		@Override
 		public void debug(Object message) {
-			if (message instanceof String || this.logger.isDebugEnabled()) {
+			if (isEnabled(DEBUG)) {
 				this.logger.debug(String.valueOf(message));
 			}
 		}
 
 		@Override
 		public void debug(Object message, Throwable t) {
-			if (message instanceof String || this.logger.isDebugEnabled()) {
+			if (isEnabled(DEBUG)) {
 				this.logger.debug(String.valueOf(message), t);
 			}
 		}
 
 		@Override
 		public void trace(Object message) {
-			if (message instanceof String || this.logger.isTraceEnabled()) {
+			if (isEnabled(TRACE)) {
 				this.logger.trace(String.valueOf(message));
 			}
 		}
 
 		@Override
 		public void trace(Object message, Throwable t) {
-			if (message instanceof String || this.logger.isTraceEnabled()) {
+			if (isEnabled(TRACE)) {
 				this.logger.trace(String.valueOf(message), t);
 			}
 		}
 
-	}
+		@Override
+		public void fatal(String format, Object arg) {
+			if (isEnabled(ERROR)) {
+				logFormatted(ERROR, format, arg);
+			}
+		}
 
-	/**
-	 * bridge -> 修正抽象化日志  带有位置感知的 slf4j
-	 */
-	private static class Slf4jLocationAwareLog extends Slf4jLog<LocationAwareLogger> implements Serializable {
+		@Override
+		public void fatal(String format, Object arg1, Object arg2) {
+			if (isEnabled(ERROR)) {
+				logFormatted(ERROR, format, arg1, arg2);
+			}
+		}
+
+		@Override
+		public void fatal(String format, Object arg1, Object arg2, Object arg3) {
+			if (isEnabled(ERROR)) {
+				logFormatted(ERROR, format, arg1, arg2, arg3);
+			}
+		}
+
+		@Override
+		public void fatal(String format, Object... args) {
+			if (isEnabled(ERROR)) {
+				logFormatted(ERROR, format, args);
+			}
+		}
+
+		@Override
+		public void error(String format, Object arg) {
+			if (isEnabled(ERROR)) {
+				logFormatted(ERROR, format, arg);
+			}
+		}
+
+		@Override
+		public void error(String format, Object arg1, Object arg2) {
+			if (isEnabled(ERROR)) {
+				logFormatted(ERROR, format, arg1, arg2);
+			}
+		}
+
+		@Override
+		public void error(String format, Object arg1, Object arg2, Object arg3) {
+			if (isEnabled(ERROR)) {
+				logFormatted(ERROR, format, arg1, arg2, arg3);
+			}
+		}
+
+		@Override
+		public void error(String format, Object... args) {
+			if (isEnabled(ERROR)) {
+				logFormatted(ERROR, format, args);
+			}
+		}
+
+		@Override
+		public void warn(String format, Object arg) {
+			if (isEnabled(WARN)) {
+				logFormatted(WARN, format, arg);
+			}
+		}
+
+		@Override
+		public void warn(String format, Object arg1, Object arg2) {
+			if (isEnabled(WARN)) {
+				logFormatted(WARN, format, arg1, arg2);
+			}
+		}
+
+		@Override
+		public void warn(String format, Object arg1, Object arg2, Object arg3) {
+			if (isEnabled(WARN)) {
+				logFormatted(WARN, format, arg1, arg2, arg3);
+			}
+		}
+
+		@Override
+		public void warn(String format, Object... args) {
+			if (isEnabled(WARN)) {
+				logFormatted(WARN, format, args);
+			}
+		}
+
+		@Override
+		public void info(String format, Object arg) {
+			if (isEnabled(INFO)) {
+				logFormatted(INFO, format, arg);
+			}
+		}
+
+		@Override
+		public void info(String format, Object arg1, Object arg2) {
+			if (isEnabled(INFO)) {
+				logFormatted(INFO, format, arg1, arg2);
+			}
+		}
+
+		@Override
+		public void info(String format, Object arg1, Object arg2, Object arg3) {
+			if (isEnabled(INFO)) {
+				logFormatted(INFO, format, arg1, arg2, arg3);
+			}
+		}
+
+		@Override
+		public void info(String format, Object... args) {
+			if (isEnabled(INFO)) {
+				logFormatted(INFO, format, args);
+			}
+		}
+
+		@Override
+		public void debug(String format, Object arg) {
+			if (isEnabled(DEBUG)) {
+				logFormatted(DEBUG, format, arg);
+			}
+		}
+
+		@Override
+		public void debug(String format, Object arg1, Object arg2) {
+			if (isEnabled(DEBUG)) {
+				logFormatted(DEBUG, format, arg1, arg2);
+			}
+		}
+
+		@Override
+		public void debug(String format, Object arg1, Object arg2, Object arg3) {
+			if (isEnabled(DEBUG)) {
+				logFormatted(DEBUG, format, arg1, arg2, arg3);
+			}
+		}
+
+		@Override
+		public void debug(String format, Object... args) {
+			if (isEnabled(DEBUG)) {
+				logFormatted(DEBUG, format, args);
+			}
+		}
+
+		@Override
+		public void trace(String format, Object arg) {
+			if (isEnabled(TRACE)) {
+				logFormatted(TRACE, format, arg);
+			}
+		}
+
+		@Override
+		public void trace(String format, Object arg1, Object arg2) {
+			if (isEnabled(TRACE)) {
+				logFormatted(TRACE, format, arg1, arg2);
+			}
+		}
+
+		@Override
+		public void trace(String format, Object arg1, Object arg2, Object arg3) {
+			if (isEnabled(TRACE)) {
+				logFormatted(TRACE, format, arg1, arg2, arg3);
+			}
+		}
+
+		@Override
+		public void trace(String format, Object... args) {
+			if (isEnabled(TRACE)) {
+				logFormatted(TRACE, format, args);
+			}
+		}
+
+		/**
+		 * 交给slf4j格式化，级别已经检查过；一个及两个参数使用slf4j对应的重载，不创建参数数组
+		 */
+		protected void logFormatted(int level, String format, Object arg) {
+			Logger logger = this.logger;
+			switch (level) {
+				case TRACE:
+					logger.trace(format, arg);
+					break;
+				case DEBUG:
+					logger.debug(format, arg);
+					break;
+				case INFO:
+					logger.info(format, arg);
+					break;
+				case WARN:
+					logger.warn(format, arg);
+					break;
+				default:
+					logger.error(format, arg);
+			}
+		}
+
+		protected void logFormatted(int level, String format, Object arg1, Object arg2) {
+			Logger logger = this.logger;
+			switch (level) {
+				case TRACE:
+					logger.trace(format, arg1, arg2);
+					break;
+				case DEBUG:
+					logger.debug(format, arg1, arg2);
+					break;
+				case INFO:
+					logger.info(format, arg1, arg2);
+					break;
+				case WARN:
+					logger.warn(format, arg1, arg2);
+					break;
+				default:
+					logger.error(format, arg1, arg2);
+			}
+		}
+
+		protected void logFormatted(int level, String format, Object... args) {
+			Logger logger = this.logger;
+			switch (level) {
+				case TRACE:
+					logger.trace(format, args);
+					break;
+				case DEBUG:
+					logger.debug(format, args);
+					break;
+				case INFO:
+					logger.info(format, args);
+					break;
+				case WARN:
+					logger.warn(format, args);
+					break;
+				default:
+					logger.error(format, args);
+			}
+		}
+
+		/**
+		 * 反序列化后重新获取logger
+		 */
+		protected Object readResolve() {
+			return Slf4jAdapter.createLog(this.name);
+		}
+	}
+
+	/**
+	 * bridge -> 修正抽象化日志  带有位置感知的 slf4j
+	 */
+	private static class Slf4jLocationAwareLog extends Slf4jLog<LocationAwareLogger> implements Serializable {
 
 		private static final String FQCN = Slf4jLocationAwareLog.class.getName();
 
@@ -405,74 +1103,421 @@ final class LogAdapter {
 
 		@Override
 		public void error(Object message) {
-			if (message instanceof String || this.logger.isErrorEnabled()) {
+			if (isEnabled(ERROR)) {
 				this.logger.log(null, FQCN, LocationAwareLogger.ERROR_INT, String.valueOf(message), null, null);
 			}
 		}
 
 		@Override
 		public void error(Object message, Throwable exception) {
-			if (message instanceof String || this.logger.isErrorEnabled()) {
+			if (isEnabled(ERROR)) {
 				this.logger.log(null, FQCN, LocationAwareLogger.ERROR_INT, String.valueOf(message), null, exception);
 			}
 		}
 
 		@Override
 		public void warn(Object message) {
-			if (message instanceof String || this.logger.isWarnEnabled()) {
+			if (isEnabled(WARN)) {
 				this.logger.log(null, FQCN, LocationAwareLogger.WARN_INT, String.valueOf(message), null, null);
 			}
 		}
 
 		@Override
 		public void warn(Object message, Throwable exception) {
-			if (message instanceof String || this.logger.isWarnEnabled()) {
+			if (isEnabled(WARN)) {
 				this.logger.log(null, FQCN, LocationAwareLogger.WARN_INT, String.valueOf(message), null, exception);
 			}
 		}
 
 		@Override
 		public void info(Object message) {
-			if (message instanceof String || this.logger.isInfoEnabled()) {
+			if (isEnabled(INFO)) {
 				this.logger.log(null, FQCN, LocationAwareLogger.INFO_INT, String.valueOf(message), null, null);
 			}
 		}
 
 		@Override
 		public void info(Object message, Throwable exception) {
-			if (message instanceof String || this.logger.isInfoEnabled()) {
+			if (isEnabled(INFO)) {
 				this.logger.log(null, FQCN, LocationAwareLogger.INFO_INT, String.valueOf(message), null, exception);
 			}
 		}
 
 		@Override
 		public void debug(Object message) {
-			if (message instanceof String || this.logger.isDebugEnabled()) {
+			if (isEnabled(DEBUG)) {
 				this.logger.log(null, FQCN, LocationAwareLogger.DEBUG_INT, String.valueOf(message), null, null);
 			}
 		}
 
 		@Override
 		public void debug(Object message, Throwable exception) {
-			if (message instanceof String || this.logger.isDebugEnabled()) {
+			if (isEnabled(DEBUG)) {
 				this.logger.log(null, FQCN, LocationAwareLogger.DEBUG_INT, String.valueOf(message), null, exception);
 			}
 		}
 
 		@Override
 		public void trace(Object message) {
-			if (message instanceof String || this.logger.isTraceEnabled()) {
+			if (isEnabled(TRACE)) {
 				this.logger.log(null, FQCN, LocationAwareLogger.TRACE_INT, String.valueOf(message), null, null);
 			}
 		}
 
 		@Override
 		public void trace(Object message, Throwable exception) {
-			if (message instanceof String || this.logger.isTraceEnabled()) {
+			if (isEnabled(TRACE)) {
 				this.logger.log(null, FQCN, LocationAwareLogger.TRACE_INT, String.valueOf(message), null, exception);
 			}
 		}
 
+		/**
+		 * {@link LocationAwareLogger}只接受参数数组，每次调用都会创建该数组；
+		 * 底层实现可能保留该数组（e.g. 异步appender），因此不能复用
+		 */
+		@Override
+		protected void logFormatted(int level, String format, Object arg) {
+			logFormatted(level, format, new Object[] {arg});
+		}
+
+		@Override
+		protected void logFormatted(int level, String format, Object arg1, Object arg2) {
+			logFormatted(level, format, new Object[] {arg1, arg2});
+		}
+
+		@Override
+		protected void logFormatted(int level, String format, Object... args) {
+			this.logger.log(null, FQCN, toLocationAwareLevel(level), format, args, null);
+		}
+
+		private static int toLocationAwareLevel(int level) {
+			switch (level) {
+				case TRACE:
+					return LocationAwareLogger.TRACE_INT;
+				case DEBUG:
+					return LocationAwareLogger.DEBUG_INT;
+				case INFO:
+					return LocationAwareLogger.INFO_INT;
+				case WARN:
+					return LocationAwareLogger.WARN_INT;
+				default:
+					return LocationAwareLogger.ERROR_INT;
+			}
+		}
+
+		@Override
+		protected Object readResolve() {
+			return Slf4jAdapter.createLocationAwareLog(this.name);
+		}
+	}
+
+	private static class JavaUtilAdapter {
+		public static Log createLog(String name) {
+			return new JavaUtilLog(name);
+		}
+	}
+
+	/**
+	 * bridge -> 修正抽象化日志 java.util.logging
+	 *
+	 * <p>级别检查使用{@link java.util.logging.Logger#isLoggable}；调用方的类及方法由{@link LocationResolvingLogRecord}
+	 * 在handler真正需要时才推断
+	 */
+	private static class JavaUtilLog implements Log, Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String name;
+
+		private transient java.util.logging.Logger logger;
+
+		public JavaUtilLog(String name) {
+			this.name = name;
+			this.logger = java.util.logging.Logger.getLogger(name);
+		}
+
+		@Override
+		public boolean isFatalEnabled() {
+			return this.logger.isLoggable(java.util.logging.Level.SEVERE);
+		}
+
+		@Override
+		public boolean isErrorEnabled() {
+			return this.logger.isLoggable(java.util.logging.Level.SEVERE);
+		}
+
+		@Override
+		public boolean isWarnEnabled() {
+			return this.logger.isLoggable(java.util.logging.Level.WARNING);
+		}
+
+		@Override
+		public boolean isInfoEnabled() {
+			return this.logger.isLoggable(java.util.logging.Level.INFO);
+		}
+
+		@Override
+		public boolean isDebugEnabled() {
+			return this.logger.isLoggable(java.util.logging.Level.FINE);
+		}
+
+		@Override
+		public boolean isTraceEnabled() {
+			return this.logger.isLoggable(java.util.logging.Level.FINEST);
+		}
+
+		@Override
+		public void fatal(Object message) {
+			log(java.util.logging.Level.SEVERE, message, null);
+		}
+
+		@Override
+		public void fatal(Object message, Throwable t) {
+			log(java.util.logging.Level.SEVERE, message, t);
+		}
+
+		@Override
+		public void error(Object message) {
+			log(java.util.logging.Level.SEVERE, message, null);
+		}
+
+		@Override
+		public void error(Object message, Throwable t) {
+			log(java.util.logging.Level.SEVERE, message, t);
+		}
+
+		@Override
+		public void warn(Object message) {
+			log(java.util.logging.Level.WARNING, message, null);
+		}
+
+		@Override
+		public void warn(Object message, Throwable t) {
+			log(java.util.logging.Level.WARNING, message, t);
+		}
+
+		@Override
+		public void info(Object message) {
+			log(java.util.logging.Level.INFO, message, null);
+		}
+
+		@Override
+		public void info(Object message, Throwable t) {
+			log(java.util.logging.Level.INFO, message, t);
+		}
+
+		@Override
+		public void debug(Object message) {
+			log(java.util.logging.Level.FINE, message, null);
+		}
+
+		@Override
+		public void debug(Object message, Throwable t) {
+			log(java.util.logging.Level.FINE, message, t);
+		}
+
+		@Override
+		public void trace(Object message) {
+			log(java.util.logging.Level.FINEST, message, null);
+		}
+
+		@Override
+		public void trace(Object message, Throwable t) {
+			log(java.util.logging.Level.FINEST, message, t);
+		}
+
+		private void log(java.util.logging.Level level, Object message, Throwable exception) {
+			if (this.logger.isLoggable(level)) {
+				LogRecord rec;
+				if (message instanceof LogRecord) {
+					rec = (LogRecord) message;
+				}
+				else {
+					rec = new LocationResolvingLogRecord(level, String.valueOf(message));
+					rec.setLoggerName(this.name);
+					rec.setResourceBundleName(this.logger.getResourceBundleName());
+					rec.setResourceBundle(this.logger.getResourceBundle());
+					rec.setThrown(exception);
+				}
+				this.logger.log(rec);
+			}
+		}
+
+		protected Object readResolve() {
+			return new JavaUtilLog(this.name);
+		}
+	}
+
+	/**
+	 * 延迟推断调用方的{@link LogRecord}
+	 *
+	 * <p>第一次获取类名或方法名时才遍历调用栈：运行在9及以上版本时通过 {@code StackWalker} 逐帧遍历，
+	 * 找到适配器之后的第一个帧即停止；否则退回到{@link Throwable#getStackTrace()}
+	 */
+	private static class LocationResolvingLogRecord extends LogRecord {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final String FQCN = JavaUtilLog.class.getName();
+
+		private static final String LOG_INTERFACE = Log.class.getName();
+
+		private static final StackWalkerSupport STACK_WALKER = StackWalkerSupport.create();
+
+		private volatile boolean resolved;
+
+		public LocationResolvingLogRecord(java.util.logging.Level level, String msg) {
+			super(level, msg);
+		}
+
+		@Override
+		public String getSourceClassName() {
+			if (!this.resolved) {
+				resolve();
+			}
+			return super.getSourceClassName();
+		}
+
+		@Override
+		public void setSourceClassName(String sourceClassName) {
+			super.setSourceClassName(sourceClassName);
+			this.resolved = true;
+		}
+
+		@Override
+		public String getSourceMethodName() {
+			if (!this.resolved) {
+				resolve();
+			}
+			return super.getSourceMethodName();
+		}
+
+		@Override
+		public void setSourceMethodName(String sourceMethodName) {
+			super.setSourceMethodName(sourceMethodName);
+			this.resolved = true;
+		}
+
+		private void resolve() {
+			String[] caller = (STACK_WALKER != null ? STACK_WALKER.findCaller() : findCallerInStackTrace());
+			if (caller != null) {
+				setSourceClassName(caller[0]);
+				setSourceMethodName(caller[1]);
+			}
+			else {
+				this.resolved = true;
+			}
+		}
+
+		private static String[] findCallerInStackTrace() {
+			boolean found = false;
+			for (StackTraceElement element : new Throwable().getStackTrace()) {
+				String className = element.getClassName();
+				if (isAdapterClass(className)) {
+					found = true;
+				}
+				else if (found) {
+					return new String[] {className, element.getMethodName()};
+				}
+			}
+			return null;
+		}
+
+		static boolean isAdapterClass(String className) {
+			return (FQCN.equals(className) || LOG_INTERFACE.equals(className));
+		}
+
+		/**
+		 * 序列化前推断调用方，反序列化后的记录不再依赖调用栈
+		 */
+		// 编译级别为8，没有9及以上版本替代的setInstant/getLongThreadID/setLongThreadID
+		@SuppressWarnings("deprecation")
+		protected Object writeReplace() {
+			LogRecord serialized = new LogRecord(getLevel(), getMessage());
+			serialized.setLoggerName(getLoggerName());
+			serialized.setResourceBundle(getResourceBundle());
+			serialized.setResourceBundleName(getResourceBundleName());
+			serialized.setSourceClassName(getSourceClassName());
+			serialized.setSourceMethodName(getSourceMethodName());
+			serialized.setSequenceNumber(getSequenceNumber());
+			serialized.setParameters(getParameters());
+			serialized.setThreadID(getThreadID());
+			serialized.setMillis(getMillis());
+			serialized.setThrown(getThrown());
+			return serialized;
+		}
+	}
+
+	/**
+	 * 通过{@link MethodHandle}使用9及以上版本的 {@code java.lang.StackWalker}，编译级别仍为8
+	 */
+	private static final class StackWalkerSupport {
+
+		private final Object walker;
+
+		private final MethodHandle walk;
+
+		private final MethodHandle getClassName;
+
+		private final MethodHandle getMethodName;
+
+		private StackWalkerSupport(Object walker, MethodHandle walk, MethodHandle getClassName, MethodHandle getMethodName) {
+			this.walker = walker;
+			this.walk = walk;
+			this.getClassName = getClassName;
+			this.getMethodName = getMethodName;
+		}
+
+		/**
+		 * @return 不支持 {@code StackWalker} 时返回null
+		 */
+		static StackWalkerSupport create() {
+			try {
+				Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+				Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+				MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+				Object walker = lookup.findStatic(walkerClass, "getInstance", MethodType.methodType(walkerClass)).invoke();
+				MethodHandle walk = lookup.findVirtual(walkerClass, "walk",
+						MethodType.methodType(Object.class, Function.class));
+				MethodHandle getClassName = lookup.findVirtual(frameClass, "getClassName", MethodType.methodType(String.class));
+				MethodHandle getMethodName = lookup.findVirtual(frameClass, "getMethodName", MethodType.methodType(String.class));
+				return new StackWalkerSupport(walker, walk, getClassName, getMethodName);
+			}
+			catch (Throwable ex) {
+				return null;
+			}
+		}
+
+		String[] findCaller() {
+			Function<Stream<?>, String[]> function = this::findCaller;
+			try {
+				return (String[]) this.walk.invoke(this.walker, function);
+			}
+			catch (Throwable ex) {
+				return LocationResolvingLogRecord.findCallerInStackTrace();
+			}
+		}
+
+		private String[] findCaller(Stream<?> frames) {
+			boolean found = false;
+			Iterator<?> iterator = frames.iterator();
+			try {
+				while (iterator.hasNext()) {
+					Object frame = iterator.next();
+					String className = (String) this.getClassName.invoke(frame);
+					if (LocationResolvingLogRecord.isAdapterClass(className)) {
+						found = true;
+					}
+					else if (found) {
+						return new String[] {className, (String) this.getMethodName.invoke(frame)};
+					}
+				}
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException(ex);
+			}
+			return null;
+		}
 	}
 
 }
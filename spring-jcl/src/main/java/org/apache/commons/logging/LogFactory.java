@@ -1,12 +1,26 @@
 package org.apache.commons.logging;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * 最轻量的 apache commons logging api
  * 提供了基础的log查询方法
+ *
+ * <p>按名称缓存创建的log，重复查找同一名称时返回同一个适配器，不再重新解析底层日志实现；
+ * 缓存的log与本类由同一个类加载器加载，不会导致其他类加载器泄漏。
+ * 底层日志实现重新初始化（e.g. 替换了LoggerContext）后调用{@link #releaseAll()}清空缓存；
+ * 只是级别发生变化时调用{@link #refreshLevels()}
+ *
  * @author dengweichang
  */
 public class LogFactory {
 
+	/**
+	 * log名称 -> log
+	 */
+	private static final ConcurrentMap<String, Log> logCache = new ConcurrentHashMap<>(256);
+
 	/**
 	 * 返回指定的日志程序
 	 * @param clazz 包含派生的日志类的类
@@ -20,6 +34,47 @@ public class LogFactory {
 	 * @param name log实例的名称
 	 */
 	public static Log getLog(String name) {
-		return LogAdapter.createLog(name);
+		Log log = logCache.get(name);
+		if (log == null) {
+			log = LogAdapter.createLog(name);
+			Log existing = logCache.putIfAbsent(name, log);
+			if (existing != null) {
+				log = existing;
+			}
+		}
+		return log;
+	}
+
+	/**
+	 * 清空缓存的log，之后的查找重新创建适配器
+	 * <p>缓存对所有类加载器共用，因此与{@link #releaseAll()}相同
+	 * @param classLoader 忽略
+	 */
+	public static void release(ClassLoader classLoader) {
+		releaseAll();
+	}
+
+	/**
+	 * 清空缓存的log，之后的查找重新创建适配器
+	 */
+	public static void releaseAll() {
+		logCache.clear();
+		LogAdapter.invalidateLevels();
+	}
+
+	/**
+	 * 底层日志实现的级别配置已变化，使各log缓存的级别失效
+	 * <p>底层为logback或者log4j时会自动感知；其余slf4j实现不缓存级别，同样无需调用
+	 */
+	public static void refreshLevels() {
+		LogAdapter.invalidateLevels();
+	}
+
+	/**
+	 * 开启异步日志时，缓冲区满而被丢弃的日志数
+	 * @return 没有开启异步日志时返回0
+	 */
+	public static long getDroppedAsyncLogCount() {
+		return AsyncLogDispatcher.droppedCount();
 	}
 }
@@ -0,0 +1,137 @@
+package org.apache.commons.logging;
+
+import java.util.Arrays;
+
+/**
+ * {@code {}}占位符的格式化，与slf4j / log4j的参数化消息规则相同，
+ * 供没有原生参数化api的{@link Log}实现使用
+ *
+ * <p>{@code \{}}表示不替换的{@code {}}；最后一个参数为{@link Throwable}且没有对应的占位符时，作为异常记录
+ *
+ * <p>格式化使用线程内复用的{@link StringBuilder}，除了结果字符串本身不再分配对象；
+ * 参数的{@code toString()}中再次记录日志时改用新的{@link StringBuilder}
+ *
+ * @author dengweichang
+ */
+final class ParameterizedMessage {
+
+	private static final String PLACEHOLDER = "{}";
+
+	private static final char ESCAPE = '\\';
+
+	/**
+	 * 复用的{@link StringBuilder}保留的最大容量，超出后缩容，避免个别很长的消息长期占用内存
+	 */
+	private static final int MAX_REUSABLE_CAPACITY = 518;
+
+	private static final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+	private ParameterizedMessage() {
+	}
+
+	/**
+	 * 依次用参数替换占位符
+	 * @param pattern 带有{@code {}}占位符的消息
+	 * @param args 参数
+	 * @return 格式化后的消息
+	 */
+	static String format(String pattern, Object[] args) {
+		if (pattern == null) {
+			return "null";
+		}
+		if (args == null || args.length == 0) {
+			return pattern;
+		}
+		StringBuilder sb = buffers.get();
+		if (sb.length() != 0) {
+			// 正在格式化外层消息
+			return formatTo(new StringBuilder(pattern.length() + 16 * args.length), pattern, args).toString();
+		}
+		try {
+			return formatTo(sb, pattern, args).toString();
+		}
+		finally {
+			if (sb.capacity() > MAX_REUSABLE_CAPACITY) {
+				sb.setLength(MAX_REUSABLE_CAPACITY);
+				sb.trimToSize();
+			}
+			sb.setLength(0);
+		}
+	}
+
+	private static StringBuilder formatTo(StringBuilder sb, String pattern, Object[] args) {
+		int start = 0;
+		int argIndex = 0;
+		while (argIndex < args.length) {
+			int index = pattern.indexOf(PLACEHOLDER, start);
+			if (index < 0) {
+				break;
+			}
+			if (index > 0 && pattern.charAt(index - 1) == ESCAPE) {
+				sb.append(pattern, start, index - 1).append(PLACEHOLDER);
+			}
+			else {
+				sb.append(pattern, start, index);
+				appendArgument(sb, args[argIndex++]);
+			}
+			start = index + PLACEHOLDER.length();
+		}
+		return sb.append(pattern, start, pattern.length());
+	}
+
+	/**
+	 * 没有对应占位符的最后一个{@link Throwable}参数
+	 * @param pattern 带有{@code {}}占位符的消息
+	 * @param args 参数
+	 * @return 需要作为异常记录的参数，没有时返回null
+	 */
+	static Throwable getThrowable(String pattern, Object[] args) {
+		if (args == null || args.length == 0 || !(args[args.length - 1] instanceof Throwable)) {
+			return null;
+		}
+		int placeholders = 0;
+		if (pattern != null) {
+			int index = pattern.indexOf(PLACEHOLDER);
+			while (index >= 0 && placeholders < args.length) {
+				if (index == 0 || pattern.charAt(index - 1) != ESCAPE) {
+					placeholders++;
+				}
+				index = pattern.indexOf(PLACEHOLDER, index + PLACEHOLDER.length());
+			}
+		}
+		return (placeholders < args.length ? (Throwable) args[args.length - 1] : null);
+	}
+
+	private static void appendArgument(StringBuilder sb, Object arg) {
+		if (arg == null || !arg.getClass().isArray()) {
+			sb.append(arg);
+		}
+		else if (arg instanceof Object[]) {
+			sb.append(Arrays.deepToString((Object[]) arg));
+		}
+		else if (arg instanceof int[]) {
+			sb.append(Arrays.toString((int[]) arg));
+		}
+		else if (arg instanceof long[]) {
+			sb.append(Arrays.toString((long[]) arg));
+		}
+		else if (arg instanceof byte[]) {
+			sb.append(Arrays.toString((byte[]) arg));
+		}
+		else if (arg instanceof char[]) {
+			sb.append(Arrays.toString((char[]) arg));
+		}
+		else if (arg instanceof short[]) {
+			sb.append(Arrays.toString((short[]) arg));
+		}
+		else if (arg instanceof boolean[]) {
+			sb.append(Arrays.toString((boolean[]) arg));
+		}
+		else if (arg instanceof float[]) {
+			sb.append(Arrays.toString((float[]) arg));
+		}
+		else {
+			sb.append(Arrays.toString((double[]) arg));
+		}
+	}
+}
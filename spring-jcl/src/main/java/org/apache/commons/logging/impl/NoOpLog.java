@@ -2,6 +2,8 @@ package org.apache.commons.logging.impl;
 
 import org.apache.commons.logging.Log;
 
+import java.util.function.Supplier;
+
 /**
  * 什么都没有的log实现
  * @author dengweichang
@@ -91,4 +93,172 @@ public class NoOpLog implements Log {
 	@Override
 	public void trace(Object message, Throwable t) {
 	}
+
+	@Override
+	public void fatal(Supplier<?> messageSupplier) {
+	}
+
+	@Override
+	public void fatal(Supplier<?> messageSupplier, Throwable t) {
+	}
+
+	@Override
+	public void fatal(String message, Throwable t) {
+	}
+
+	@Override
+	public void fatal(String format, Object arg) {
+	}
+
+	@Override
+	public void fatal(String format, Object arg1, Object arg2) {
+	}
+
+	@Override
+	public void fatal(String format, Object arg1, Object arg2, Object arg3) {
+	}
+
+	@Override
+	public void fatal(String format, Object... args) {
+	}
+
+	@Override
+	public void error(Supplier<?> messageSupplier) {
+	}
+
+	@Override
+	public void error(Supplier<?> messageSupplier, Throwable t) {
+	}
+
+	@Override
+	public void error(String message, Throwable t) {
+	}
+
+	@Override
+	public void error(String format, Object arg) {
+	}
+
+	@Override
+	public void error(String format, Object arg1, Object arg2) {
+	}
+
+	@Override
+	public void error(String format, Object arg1, Object arg2, Object arg3) {
+	}
+
+	@Override
+	public void error(String format, Object... args) {
+	}
+
+	@Override
+	public void warn(Supplier<?> messageSupplier) {
+	}
+
+	@Override
+	public void warn(Supplier<?> messageSupplier, Throwable t) {
+	}
+
+	@Override
+	public void warn(String message, Throwable t) {
+	}
+
+	@Override
+	public void warn(String format, Object arg) {
+	}
+
+	@Override
+	public void warn(String format, Object arg1, Object arg2) {
+	}
+
+	@Override
+	public void warn(String format, Object arg1, Object arg2, Object arg3) {
+	}
+
+	@Override
+	public void warn(String format, Object... args) {
+	}
+
+	@Override
+	public void info(Supplier<?> messageSupplier) {
+	}
+
+	@Override
+	public void info(Supplier<?> messageSupplier, Throwable t) {
+	}
+
+	@Override
+	public void info(String message, Throwable t) {
+	}
+
+	@Override
+	public void info(String format, Object arg) {
+	}
+
+	@Override
+	public void info(String format, Object arg1, Object arg2) {
+	}
+
+	@Override
+	public void info(String format, Object arg1, Object arg2, Object arg3) {
+	}
+
+	@Override
+	public void info(String format, Object... args) {
+	}
+
+	@Override
+	public void debug(Supplier<?> messageSupplier) {
+	}
+
+	@Override
+	public void debug(Supplier<?> messageSupplier, Throwable t) {
+	}
+
+	@Override
+	public void debug(String message, Throwable t) {
+	}
+
+	@Override
+	public void debug(String format, Object arg) {
+	}
+
+	@Override
+	public void debug(String format, Object arg1, Object arg2) {
+	}
+
+	@Override
+	public void debug(String format, Object arg1, Object arg2, Object arg3) {
+	}
+
+	@Override
+	public void debug(String format, Object... args) {
+	}
+
+	@Override
+	public void trace(Supplier<?> messageSupplier) {
+	}
+
+	@Override
+	public void trace(Supplier<?> messageSupplier, Throwable t) {
+	}
+
+	@Override
+	public void trace(String message, Throwable t) {
+	}
+
+	@Override
+	public void trace(String format, Object arg) {
+	}
+
+	@Override
+	public void trace(String format, Object arg1, Object arg2) {
+	}
+
+	@Override
+	public void trace(String format, Object arg1, Object arg2, Object arg3) {
+	}
+
+	@Override
+	public void trace(String format, Object... args) {
+	}
 }
@@ -0,0 +1,236 @@
+package org.apache.commons.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.helpers.MarkerIgnoringBase;
+import org.slf4j.spi.LocationAwareLogger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+
+/**
+ * 开启级别的日志调用在预热后每次调用分配的字节数，直接运行main方法，失败时抛出{@link AssertionError}
+ *
+ * <p>通过{@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}统计当前线程的分配；
+ * 底层logger为不做任何事情的{@link NoOpLogger}，因此统计的只是适配器本身的分配
+ *
+ * <ul>
+ *     <li>slf4j：字符串消息及一个、两个参数的参数化消息不分配对象</li>
+ *     <li>位置感知的slf4j：{@link LocationAwareLogger}只接受参数数组，每次调用分配该数组</li>
+ *     <li>{@link ParameterizedMessage}：只分配结果字符串</li>
+ * </ul>
+ *
+ * @author dengweichang
+ */
+public class LogAllocationTests {
+
+	private static final int WARM_UP_ROUNDS = 20;
+
+	private static final int CALLS = 100_000;
+
+	private static final com.sun.management.ThreadMXBean threadMXBean =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private static final Object ARG1 = "foo";
+
+	private static final Object ARG2 = "bar";
+
+	public static void main(String[] args) throws Exception {
+		if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+			System.out.println("LogAllocationTests: thread allocated memory not supported, skipped");
+			return;
+		}
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+		Log slf4jLog = newLog("org.apache.commons.logging.LogAdapter$Slf4jLog", Logger.class);
+		assertAllocatedAtMost(0, "slf4j message", () -> slf4jLog.info("message"));
+		assertAllocatedAtMost(0, "slf4j one argument", () -> slf4jLog.info("a={}", ARG1));
+		assertAllocatedAtMost(0, "slf4j two arguments", () -> slf4jLog.info("a={} b={}", ARG1, ARG2));
+		assertAllocatedAtMost(0, "slf4j disabled level", () -> slf4jLog.trace("a={} b={}", ARG1, ARG2));
+
+		Log locationAwareLog = newLog("org.apache.commons.logging.LogAdapter$Slf4jLocationAwareLog",
+				LocationAwareLogger.class);
+		assertAllocatedAtMost(0, "location aware message", () -> locationAwareLog.info("message"));
+		// 一个元素的Object[]：12/16字节的对象头 + 4/8字节的引用，按8字节对齐
+		assertAllocatedAtMost(24, "location aware one argument", () -> locationAwareLog.info("a={}", ARG1));
+
+		// 结果字符串"a=foo b=bar"：String对象 + 字符数组，不包括StringBuilder
+		assertAllocatedAtMost(72, "ParameterizedMessage",
+				() -> ParameterizedMessage.format("a={} b={}", new Object[] {ARG1, ARG2}));
+
+		System.out.println("LogAllocationTests: all passed");
+	}
+
+	private static Log newLog(String className, Class<?> loggerType) throws Exception {
+		Constructor<?> ctor = Class.forName(className).getDeclaredConstructor(loggerType);
+		ctor.setAccessible(true);
+		return (Log) ctor.newInstance(new NoOpLogger());
+	}
+
+	private static void assertAllocatedAtMost(long maxBytesPerCall, String name, Runnable call) {
+		for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+			measure(call);
+		}
+		long bytesPerCall = Long.MAX_VALUE;
+		for (int i = 0; i < 3; i++) {
+			// 取最小值，排除统计本身偶尔的分配
+			bytesPerCall = Math.min(bytesPerCall, measure(call) / CALLS);
+		}
+		System.out.println(name + ": " + bytesPerCall + " bytes/call");
+		if (bytesPerCall > maxBytesPerCall) {
+			throw new AssertionError(name + ": expected at most " + maxBytesPerCall +
+					" bytes per call but was " + bytesPerCall);
+		}
+	}
+
+	private static long measure(Runnable call) {
+		long threadId = Thread.currentThread().getId();
+		long before = threadMXBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < CALLS; i++) {
+			call.run();
+		}
+		return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+	}
+
+
+	/**
+	 * 除trace外所有级别都开启，记录日志时不做任何事情
+	 */
+	private static final class NoOpLogger extends MarkerIgnoringBase implements LocationAwareLogger {
+
+		private static final long serialVersionUID = 1L;
+
+		NoOpLogger() {
+			this.name = "test";
+		}
+
+		@Override
+		public void log(Marker marker, String fqcn, int level, String message, Object[] argArray, Throwable t) {
+		}
+
+		@Override
+		public boolean isTraceEnabled() {
+			return false;
+		}
+
+		@Override
+		public void trace(String msg) {
+		}
+
+		@Override
+		public void trace(String format, Object arg) {
+		}
+
+		@Override
+		public void trace(String format, Object arg1, Object arg2) {
+		}
+
+		@Override
+		public void trace(String format, Object... arguments) {
+		}
+
+		@Override
+		public void trace(String msg, Throwable t) {
+		}
+
+		@Override
+		public boolean isDebugEnabled() {
+			return true;
+		}
+
+		@Override
+		public void debug(String msg) {
+		}
+
+		@Override
+		public void debug(String format, Object arg) {
+		}
+
+		@Override
+		public void debug(String format, Object arg1, Object arg2) {
+		}
+
+		@Override
+		public void debug(String format, Object... arguments) {
+		}
+
+		@Override
+		public void debug(String msg, Throwable t) {
+		}
+
+		@Override
+		public boolean isInfoEnabled() {
+			return true;
+		}
+
+		@Override
+		public void info(String msg) {
+		}
+
+		@Override
+		public void info(String format, Object arg) {
+		}
+
+		@Override
+		public void info(String format, Object arg1, Object arg2) {
+		}
+
+		@Override
+		public void info(String format, Object... arguments) {
+		}
+
+		@Override
+		public void info(String msg, Throwable t) {
+		}
+
+		@Override
+		public boolean isWarnEnabled() {
+			return true;
+		}
+
+		@Override
+		public void warn(String msg) {
+		}
+
+		@Override
+		public void warn(String format, Object arg) {
+		}
+
+		@Override
+		public void warn(String format, Object arg1, Object arg2) {
+		}
+
+		@Override
+		public void warn(String format, Object... arguments) {
+		}
+
+		@Override
+		public void warn(String msg, Throwable t) {
+		}
+
+		@Override
+		public boolean isErrorEnabled() {
+			return true;
+		}
+
+		@Override
+		public void error(String msg) {
+		}
+
+		@Override
+		public void error(String format, Object arg) {
+		}
+
+		@Override
+		public void error(String format, Object arg1, Object arg2) {
+		}
+
+		@Override
+		public void error(String format, Object... arguments) {
+		}
+
+		@Override
+		public void error(String msg, Throwable t) {
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package org.apache.commons.logging;
+
+import java.lang.reflect.Constructor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@code log.debug(null)}等调用的测试，直接运行main方法，失败时抛出{@link AssertionError}
+ *
+ * <p>{@code null}实参选择的是{@link Supplier}的重载，应当与{@code null}消息等价，而不是抛出{@link NullPointerException}：
+ * <ul>
+ *     <li>{@link Log}的默认实现：所有级别的{@code xxx(Supplier)}及{@code xxx(Supplier, Throwable)}都记录null消息</li>
+ *     <li>log4j适配器覆盖了这些方法，同样不抛出异常</li>
+ * </ul>
+ * <p>两个参数的调用中{@code null}同时匹配{@code xxx(String, Throwable)}，需要显式转换为{@link Supplier}
+ *
+ * @author dengweichang
+ */
+public class LogNullMessageTests {
+
+	private static final Throwable EXCEPTION = new IllegalStateException("expected");
+
+	public static void main(String[] args) throws Exception {
+		RecordingLog log = new RecordingLog();
+		assertLogsNull(log, "fatal", l -> l.fatal(null), l -> l.fatal((Supplier<?>) null, EXCEPTION));
+		assertLogsNull(log, "error", l -> l.error(null), l -> l.error((Supplier<?>) null, EXCEPTION));
+		assertLogsNull(log, "warn", l -> l.warn(null), l -> l.warn((Supplier<?>) null, EXCEPTION));
+		assertLogsNull(log, "info", l -> l.info(null), l -> l.info((Supplier<?>) null, EXCEPTION));
+		assertLogsNull(log, "debug", l -> l.debug(null), l -> l.debug((Supplier<?>) null, EXCEPTION));
+		assertLogsNull(log, "trace", l -> l.trace(null), l -> l.trace((Supplier<?>) null, EXCEPTION));
+
+		Constructor<?> ctor = Class.forName("org.apache.commons.logging.LogAdapter$Log4jLog")
+				.getDeclaredConstructor(String.class);
+		ctor.setAccessible(true);
+		Log log4jLog = (Log) ctor.newInstance(LogNullMessageTests.class.getName());
+		log4jLog.error(null);
+		log4jLog.error((Supplier<?>) null, EXCEPTION);
+
+		System.out.println("LogNullMessageTests: all passed");
+	}
+
+	private static void assertLogsNull(RecordingLog log, String level, Consumer<Log> call,
+			Consumer<Log> callWithException) {
+		log.reset();
+		call.accept(log);
+		assertLogged(log, level, null, level + "(null)");
+		log.reset();
+		callWithException.accept(log);
+		assertLogged(log, level, EXCEPTION, level + "(null, t)");
+	}
+
+	private static void assertLogged(RecordingLog log, String level, Throwable exception, String call) {
+		if (!level.equals(log.level) || log.message != null || log.exception != exception) {
+			throw new AssertionError(call + ": expected null message at " + level + " but was " +
+					log.level + " [" + log.message + "] " + log.exception);
+		}
+	}
+
+
+	/**
+	 * 所有级别都开启，只记录最后一次调用
+	 */
+	private static final class RecordingLog implements Log {
+
+		String level;
+
+		Object message;
+
+		Throwable exception;
+
+		void reset() {
+			this.level = null;
+			this.message = "not logged";
+			this.exception = null;
+		}
+
+		private void record(String level, Object message, Throwable exception) {
+			this.level = level;
+			this.message = message;
+			this.exception = exception;
+		}
+
+		@Override
+		public boolean isFatalEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isErrorEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isWarnEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isInfoEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isDebugEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isTraceEnabled() {
+			return true;
+		}
+
+		@Override
+		public void fatal(Object message) {
+			record("fatal", message, null);
+		}
+
+		@Override
+		public void fatal(Object message, Throwable t) {
+			record("fatal", message, t);
+		}
+
+		@Override
+		public void error(Object message) {
+			record("error", message, null);
+		}
+
+		@Override
+		public void error(Object message, Throwable t) {
+			record("error", message, t);
+		}
+
+		@Override
+		public void warn(Object message) {
+			record("warn", message, null);
+		}
+
+		@Override
+		public void warn(Object message, Throwable t) {
+			record("warn", message, t);
+		}
+
+		@Override
+		public void info(Object message) {
+			record("info", message, null);
+		}
+
+		@Override
+		public void info(Object message, Throwable t) {
+			record("info", message, t);
+		}
+
+		@Override
+		public void debug(Object message) {
+			record("debug", message, null);
+		}
+
+		@Override
+		public void debug(Object message, Throwable t) {
+			record("debug", message, t);
+		}
+
+		@Override
+		public void trace(Object message) {
+			record("trace", message, null);
+		}
+
+		@Override
+		public void trace(Object message, Throwable t) {
+			record("trace", message, t);
+		}
+	}
+}